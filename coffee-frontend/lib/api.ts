@@ -26,7 +26,7 @@ const PATHS = {
 };
 
 // --- 백엔드 → 프론트 표준 Order[] 정규화 ---
-// 표준 아이템: name, qty, price(=단가). 합계는 Σ(price * qty)
+// 표준 아이템: name, qty, price(=단가). 합계는 서버 totalAmount - discountAmount + deliveryFee, 없으면 Σ(price * qty)
 function normalizeOrdersFrom(raw: any): Order[] {
     // 다양한 래핑 필드 해제
     const arr =
@@ -69,7 +69,7 @@ function normalizeOrdersFrom(raw: any): Order[] {
             postcode: o.postalCode ?? o.postcode ?? o.zipcode ?? "",
             createdAt,
             items,
-            total: Number(o.total ?? o.totalPrice ?? computedTotal),
+            total: Number(o.totalAmount ?? o.total ?? o.totalPrice ?? computedTotal) - Number(o.discountAmount ?? 0) + Number(o.deliveryFee ?? 0),
             shipCategory: o.shipCategory ?? o.shippingStatus ?? o.status ?? "배송준비중",
             status: o.status ?? o.shippingStatus ?? o.shipCategory ?? "배송준비중",
         } as Order;
@@ -0,0 +1,66 @@
+package com.cafe.domain.cart.cart.controller;
+
+import com.cafe.domain.cart.cart.dto.CartDto;
+import com.cafe.domain.cart.cart.service.CartService;
+import com.cafe.global.rsData.RsData;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/${app.api-version}/cart")
+public class CartController {
+
+    private final CartService cartService;
+
+    // 장바구니 생성
+    @PostMapping
+    public RsData<CartDto> createCart() {
+        return new RsData<>(
+                "201-1",
+                "장바구니가 생성되었습니다.",
+                cartService.create()
+        );
+    }
+
+    @GetMapping("/{cartId}")
+    public RsData<CartDto> getCart(@PathVariable String cartId) {
+        return new RsData<>(
+                "200-1",
+                "장바구니 조회 성공",
+                cartService.get(cartId)
+        );
+    }
+
+    record CartItemReqBody(
+            @NotNull Long productId,
+            @Min(0) int quantity
+    ) {}
+
+    // 상품 담기/수량 변경 (0 이면 빼기), 담긴 수량만큼 재고가 홀드된다
+    @PutMapping("/{cartId}/items")
+    public RsData<CartDto> setItem(
+            @PathVariable String cartId,
+            @RequestBody @Valid CartItemReqBody reqBody
+    ) {
+        return new RsData<>(
+                "200-2",
+                "장바구니가 변경되었습니다.",
+                cartService.setItem(cartId, reqBody.productId, reqBody.quantity)
+        );
+    }
+
+    // 장바구니 삭제, 홀드된 재고를 되돌린다
+    @DeleteMapping("/{cartId}")
+    public RsData<Void> deleteCart(@PathVariable String cartId) {
+        cartService.delete(cartId);
+
+        return new RsData<>(
+                "200-3",
+                "장바구니가 삭제되었습니다."
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package com.cafe.domain.cart.cart.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record CartDto(
+        String cartId,
+        List<Item> items,
+        LocalDateTime expiresAt
+) {
+    public record Item(
+            Long productId,
+            int quantity
+    ) {}
+}
@@ -0,0 +1,42 @@
+package com.cafe.domain.cart.cart.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 장바구니 재고 홀드
+ * 장바구니는 메모리에 있지만 차감한 재고는 DB 에 남으므로, 재시작으로 장바구니가 사라져도
+ * 만료된 홀드를 찾아 재고를 되돌릴 수 있도록 홀드도 같은 트랜잭션에 기록한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_cart_hold_cart_product", columnNames = {"cartId", "productId"}),
+        indexes = @Index(name = "idx_cart_hold_expires_at", columnList = "expiresAt")
+)
+public class CartHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String cartId;
+    private Long productId;
+    private int quantity;
+    private LocalDateTime expiresAt;
+
+    public CartHold(String cartId, Long productId, int quantity, LocalDateTime expiresAt) {
+        this.cartId = cartId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+    }
+
+    public void changeQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,40 @@
+package com.cafe.domain.cart.cart.repository;
+
+import com.cafe.domain.cart.cart.entity.CartHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CartHoldRepository extends JpaRepository<CartHold, Long> {
+    List<CartHold> findByCartId(String cartId);
+
+    Optional<CartHold> findByCartIdAndProductId(String cartId, Long productId);
+
+    List<CartHold> findByExpiresAtBefore(LocalDateTime cutoff);
+
+    // 장바구니를 바꿀 때마다 만료 시각을 같이 미룬다
+    @Modifying
+    @Query("update CartHold h set h.expiresAt = :expiresAt where h.cartId = :cartId")
+    int extend(String cartId, LocalDateTime expiresAt);
+
+    // 지운 쪽만 재고를 되돌리도록 지운 행 수를 돌려준다 (같은 홀드를 두 번 되돌리지 않음)
+    @Modifying
+    @Query("delete from CartHold h where h.id = :id")
+    int deleteHold(Long id);
+
+    // 그 사이 연장/변경된 홀드는 지우지 않는다
+    @Modifying
+    @Query("delete from CartHold h where h.id = :id and h.quantity = :quantity and h.expiresAt < :cutoff")
+    int deleteExpired(Long id, int quantity, LocalDateTime cutoff);
+
+    // 주문으로 전환된 홀드 (재고는 그대로 주문에 넘어간다)
+    @Modifying
+    @Query("delete from CartHold h where h.cartId = :cartId")
+    int deleteAllByCart(String cartId);
+}
@@ -0,0 +1,41 @@
+package com.cafe.domain.cart.cart.service;
+
+import com.cafe.domain.cart.cart.dto.CartDto;
+import com.cafe.global.timer.TimingWheel;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 서버 장바구니 (메모리)
+ * 담긴 수량만큼 상품 재고가 이미 차감(홀드)되어 있다. 홀드는 CartHold 로 DB 에도 남는다.
+ * 모든 변경은 CartService 에서 이 객체를 잠근 상태로 한다.
+ */
+class Cart {
+
+    final String id;
+    final Map<Long, Integer> items = new LinkedHashMap<>(); // 상품 id → 수량
+    LocalDateTime expiresAt;
+    TimingWheel.Timeout timeout;
+    boolean closed;
+
+    Cart(String id) {
+        this.id = id;
+    }
+
+    int quantity(Long productId) {
+        return items.getOrDefault(productId, 0);
+    }
+
+    List<CartDto.Item> itemList() {
+        return items.entrySet().stream()
+                .map(e -> new CartDto.Item(e.getKey(), e.getValue()))
+                .toList();
+    }
+
+    CartDto toDto() {
+        return new CartDto(id, itemList(), expiresAt);
+    }
+}
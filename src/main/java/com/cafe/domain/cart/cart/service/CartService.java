@@ -0,0 +1,284 @@
+package com.cafe.domain.cart.cart.service;
+
+import com.cafe.domain.cart.cart.dto.CartDto;
+import com.cafe.domain.cart.cart.entity.CartHold;
+import com.cafe.domain.cart.cart.repository.CartHoldRepository;
+import com.cafe.domain.product.product.repository.ProductRepository;
+import com.cafe.domain.product.product.service.ProductService;
+import com.cafe.global.exception.ServiceException;
+import com.cafe.global.timer.TimingWheel;
+import com.cafe.global.transaction.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서버 장바구니
+ * 상품을 담으면 그 수량만큼 재고를 바로 차감(홀드)하고, 마지막 변경 후 holdTtl 이 지나면
+ * 타이밍 휠이 장바구니를 만료시키고 재고를 되돌린다.
+ * 주문 시 checkout() 으로 장바구니를 넘겨받으면 재고를 다시 확인하지 않아도 된다.
+ * 홀드는 재고 차감과 같은 트랜잭션에 CartHold 로도 기록해서, 재시작으로 사라진 장바구니의 홀드는
+ * 만료 후 sweep 이 재고를 되돌린다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CartService {
+
+    private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final PlatformTransactionManager transactionManager;
+    private final CartHoldRepository cartHoldRepository;
+
+    // 만료된 장바구니가 sweep 보다 먼저 (타이밍 휠로) 정리되도록 sweep 은 만료 후 이만큼 더 기다린다
+    private static final Duration SWEEP_GRACE = Duration.ofMinutes(1);
+
+    @Value("${app.cart.hold-ttl:10m}")
+    private Duration holdTtl;
+
+    private final Map<String, Cart> carts = new ConcurrentHashMap<>();
+    private TimingWheel timingWheel; // 첫 장바구니를 만들 때 만든다
+    // 타이밍 휠 tick 스레드를 막지 않도록 만료된 홀드의 재고 복구(DB) 는 여기서
+    private final ExecutorService releaser = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cart-hold-release");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CartDto create() {
+        Cart cart = new Cart(UUID.randomUUID().toString());
+
+        synchronized (cart) {
+            carts.put(cart.id, cart);
+            scheduleExpiry(cart);
+            return cart.toDto();
+        }
+    }
+
+    public CartDto get(String cartId) {
+        Cart cart = find(cartId);
+
+        synchronized (cart) {
+            if (cart.closed) throw expired();
+            return cart.toDto();
+        }
+    }
+
+    /**
+     * 상품 수량 변경 (0 이면 빼기)
+     * 늘어난 만큼 재고를 조건부로 차감하고, 줄어든 만큼 되돌린다.
+     * 장바구니 수량과 만료 타이머는 커밋된 뒤에 바꾼다. 롤백되면 차감되지 않은 홀드가 장바구니에 남지 않는다.
+     * 커밋까지 장바구니를 잠가 두어서 다음 변경은 커밋된 수량으로 차이를 계산한다.
+     */
+    public CartDto setItem(String cartId, Long productId, int quantity) {
+        Cart cart = find(cartId);
+
+        synchronized (cart) {
+            if (cart.closed) throw expired();
+
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                if (!productRepository.existsById(productId)) {
+                    throw new ServiceException("404-1", "존재하지 않는 상품입니다.");
+                }
+
+                int delta = quantity - cart.quantity(productId);
+                if (delta > 0 && !productService.decreaseStock(productId, delta)) {
+                    throw new ServiceException("409-1", "재고가 부족합니다: " + productId);
+                }
+                if (delta < 0) {
+                    productService.increaseStock(productId, -delta);
+                }
+
+                saveHold(cart.id, productId, quantity, LocalDateTime.now().plus(holdTtl));
+
+                AfterCommit.run(() -> {
+                    synchronized (cart) {
+                        if (quantity == 0) cart.items.remove(productId);
+                        else cart.items.put(productId, quantity);
+
+                        if (!cart.closed) scheduleExpiry(cart);
+                    }
+                });
+            });
+
+            return cart.toDto();
+        }
+    }
+
+    // 장바구니 비우고 홀드 해제
+    @Transactional
+    public void delete(String cartId) {
+        Cart cart = find(cartId);
+
+        synchronized (cart) {
+            if (cart.closed) return;
+            close(cart);
+            release(cart.id);
+        }
+    }
+
+    /**
+     * 주문 전환
+     * 장바구니를 닫고 홀드된 상품 목록을 돌려준다. 재고는 이미 차감되어 있으므로 홀드 기록만 지운다.
+     * 주문 트랜잭션이 롤백되면 홀드 기록도 되살아나고 장바구니를 다시 연다.
+     */
+    public List<CartDto.Item> checkout(String cartId) {
+        Cart cart = find(cartId);
+
+        synchronized (cart) {
+            if (cart.closed) throw expired();
+            close(cart);
+            cartHoldRepository.deleteAllByCart(cart.id);
+
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                AfterCommit.register(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status != STATUS_COMMITTED) reopen(cart);
+                    }
+                });
+            }
+
+            return cart.itemList();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        synchronized (this) {
+            if (timingWheel != null) timingWheel.close();
+        }
+        // 끝내지 못한 복구는 다음 기동 후 sweep 이 처리한다
+        releaser.shutdown();
+        releaser.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 만료된 홀드 정리 - 재시작 등으로 장바구니 없이 남은 홀드의 재고를 되돌린다
+     * 기동 직후 한 번, 이후 주기적으로 실행한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.cart.sweep-interval:1m}", initialDelayString = "${app.cart.sweep-interval:1m}")
+    public void sweepExpiredHolds() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(SWEEP_GRACE);
+
+        int released = new TransactionTemplate(transactionManager).execute(status -> {
+            int count = 0;
+            for (CartHold hold : cartHoldRepository.findByExpiresAtBefore(cutoff)) {
+                if (cartHoldRepository.deleteExpired(hold.getId(), hold.getQuantity(), cutoff) == 0) continue;
+                productService.increaseStock(hold.getProductId(), hold.getQuantity());
+                count++;
+            }
+            return count;
+        });
+
+        if (released > 0) {
+            log.info("만료된 장바구니 홀드 {}건의 재고를 되돌림", released);
+        }
+    }
+
+    private Cart find(String cartId) {
+        Cart cart = carts.get(cartId);
+        if (cart == null) throw expired();
+        return cart;
+    }
+
+    private void close(Cart cart) {
+        cart.closed = true;
+        if (cart.timeout != null) cart.timeout.cancel();
+        carts.remove(cart.id);
+    }
+
+    private void reopen(Cart cart) {
+        synchronized (cart) {
+            cart.closed = false;
+            carts.put(cart.id, cart);
+            scheduleExpiry(cart);
+        }
+    }
+
+    // 만료 시각을 뒤로 미루고 타이머를 다시 건다
+    private void scheduleExpiry(Cart cart) {
+        if (cart.timeout != null) cart.timeout.cancel();
+
+        TimingWheel.Timeout[] timeout = new TimingWheel.Timeout[1];
+        timeout[0] = timingWheel().schedule(() -> expire(cart, timeout[0]), holdTtl);
+        cart.timeout = timeout[0];
+        cart.expiresAt = LocalDateTime.now().plus(holdTtl);
+    }
+
+    private synchronized TimingWheel timingWheel() {
+        if (timingWheel == null) {
+            timingWheel = new TimingWheel(Duration.ofSeconds(1), 512, "cart-hold-timer");
+        }
+        return timingWheel;
+    }
+
+    // 타이밍 휠 스레드에서 호출
+    private void expire(Cart cart, TimingWheel.Timeout timeout) {
+        List<CartDto.Item> items;
+
+        synchronized (cart) {
+            // 취소가 늦어 이미 연장된 장바구니의 이전 타이머가 실행된 경우
+            if (cart.closed || cart.timeout != timeout) return;
+            close(cart);
+            items = cart.itemList();
+        }
+
+        if (items.isEmpty()) return;
+        releaser.execute(() -> {
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> release(cart.id));
+            } catch (RuntimeException e) {
+                // 홀드 기록이 남아 있으므로 sweep 이 다시 처리한다
+                log.error("장바구니 홀드 해제 실패: {}", cart.id, e);
+            }
+        });
+    }
+
+    // 홀드 기록을 지운 만큼만 재고를 되돌린다 (sweep 과 겹쳐도 한 번만)
+    private void release(String cartId) {
+        cartHoldRepository.findByCartId(cartId).forEach(hold -> {
+            if (cartHoldRepository.deleteHold(hold.getId()) == 0) return;
+            productService.increaseStock(hold.getProductId(), hold.getQuantity());
+        });
+    }
+
+    // 홀드 기록을 장바구니 수량에 맞추고 만료 시각을 미룬다
+    private void saveHold(String cartId, Long productId, int quantity, LocalDateTime expiresAt) {
+        cartHoldRepository.findByCartIdAndProductId(cartId, productId).ifPresentOrElse(
+                hold -> {
+                    if (quantity == 0) cartHoldRepository.delete(hold);
+                    else hold.changeQuantity(quantity);
+                },
+                () -> {
+                    if (quantity > 0) cartHoldRepository.save(new CartHold(cartId, productId, quantity, expiresAt));
+                }
+        );
+        cartHoldRepository.extend(cartId, expiresAt);
+    }
+
+    private ServiceException expired() {
+        return new ServiceException("410-1", "장바구니가 없거나 만료되었습니다.");
+    }
+}
@@ -0,0 +1,83 @@
+package com.cafe.domain.delivery.zone.controller;
+
+import com.cafe.domain.delivery.zone.dto.DeliveryQuoteDto;
+import com.cafe.domain.delivery.zone.dto.DeliveryZoneDto;
+import com.cafe.domain.delivery.zone.dto.DeliveryZoneReqBody;
+import com.cafe.domain.delivery.zone.service.DeliveryZoneRegistry;
+import com.cafe.domain.delivery.zone.service.DeliveryZoneService;
+import com.cafe.global.rsData.RsData;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/${app.api-version}")
+public class ApiV1DeliveryZoneController {
+
+    private final DeliveryZoneService deliveryZoneService;
+    private final DeliveryZoneRegistry deliveryZoneRegistry;
+
+    /**
+     * 배송비 견적 - 주문할 때 붙는 배송비와 같다
+     *
+     * @param postalCode 우편번호 5자리
+     * @return
+     */
+    @GetMapping("/delivery/quote")
+    public RsData<DeliveryQuoteDto> quote(@RequestParam String postalCode) {
+        return new RsData<>(
+                "200-1",
+                "배송비 조회",
+                deliveryZoneRegistry.quote(postalCode)
+        );
+    }
+
+    // 배송 구역 목록, 구간 시작 순
+    @GetMapping("/admin/delivery-zone")
+    public RsData<List<DeliveryZoneDto>> getZones() {
+        return new RsData<>(
+                "200-1",
+                "배송 구역 목록",
+                deliveryZoneService.findAll()
+        );
+    }
+
+    /**
+     * 배송 구역 등록, 커밋 후 바로 주문에 적용된다
+     *
+     * @param reqBody
+     * @return
+     */
+    @PostMapping("/admin/delivery-zone")
+    @ResponseStatus(HttpStatus.CREATED)
+    public RsData<DeliveryZoneDto> createZone(@RequestBody @Valid DeliveryZoneReqBody reqBody) {
+        return new RsData<>(
+                "201-1",
+                "배송 구역이 등록되었습니다.",
+                deliveryZoneService.create(reqBody)
+        );
+    }
+
+    @PutMapping("/admin/delivery-zone/{id}")
+    public RsData<DeliveryZoneDto> modifyZone(@PathVariable Long id, @RequestBody @Valid DeliveryZoneReqBody reqBody) {
+        return new RsData<>(
+                "200-1",
+                "배송 구역이 수정되었습니다.",
+                deliveryZoneService.modify(id, reqBody)
+        );
+    }
+
+    @DeleteMapping("/admin/delivery-zone/{id}")
+    public RsData<Void> deleteZone(@PathVariable Long id) {
+        deliveryZoneService.delete(id);
+
+        return new RsData<>(
+                "200-1",
+                "배송 구역이 삭제되었습니다."
+        );
+    }
+}
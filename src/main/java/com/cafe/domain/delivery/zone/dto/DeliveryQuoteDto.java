@@ -0,0 +1,15 @@
+package com.cafe.domain.delivery.zone.dto;
+
+/**
+ * 배송비 견적
+ *
+ * @param zoneId   배송 구역, 구역에 없는 우편번호면 null (기본 배송비)
+ * @param zoneName 배송 구역 이름
+ */
+public record DeliveryQuoteDto(
+        String postalCode,
+        Long zoneId,
+        String zoneName,
+        int fee
+) {
+}
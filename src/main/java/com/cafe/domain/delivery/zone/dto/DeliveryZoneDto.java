@@ -0,0 +1,21 @@
+package com.cafe.domain.delivery.zone.dto;
+
+import com.cafe.domain.delivery.zone.entity.DeliveryZone;
+
+public record DeliveryZoneDto(
+        Long id,
+        String name,
+        String postalCodeFrom,
+        String postalCodeTo,
+        int fee
+) {
+    public DeliveryZoneDto(DeliveryZone zone) {
+        this(
+                zone.getId(),
+                zone.getName(),
+                zone.getPostalCodeFrom(),
+                zone.getPostalCodeTo(),
+                zone.getFee()
+        );
+    }
+}
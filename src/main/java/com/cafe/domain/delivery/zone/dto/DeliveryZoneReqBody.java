@@ -0,0 +1,20 @@
+package com.cafe.domain.delivery.zone.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * 배송 구역 등록/수정 요청
+ *
+ * @param postalCodeFrom 구간 시작 우편번호 (포함)
+ * @param postalCodeTo   구간 끝 우편번호 (포함)
+ */
+public record DeliveryZoneReqBody(
+        @NotBlank String name,
+        @NotBlank @Pattern(regexp = "\\d{5}", message = "우편번호는 5자리여야 합니다.") String postalCodeFrom,
+        @NotBlank @Pattern(regexp = "\\d{5}", message = "우편번호는 5자리여야 합니다.") String postalCodeTo,
+        @NotNull @Min(0) Integer fee
+) {
+}
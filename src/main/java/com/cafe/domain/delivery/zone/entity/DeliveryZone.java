@@ -0,0 +1,35 @@
+package com.cafe.domain.delivery.zone.entity;
+
+import com.cafe.global.jpa.entity.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 배송 구역 - 우편번호 구간 [postalCodeFrom, postalCodeTo] 의 배송비
+ * 구간끼리는 겹치지 않는다. 어느 구간에도 없는 우편번호는 기본 배송비(app.delivery.default-fee)
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+public class DeliveryZone extends BaseEntity {
+
+    private String name;
+    @Column(length = 5)
+    private String postalCodeFrom;
+    @Column(length = 5)
+    private String postalCodeTo;
+    private int fee;
+
+    public DeliveryZone(String name, String postalCodeFrom, String postalCodeTo, int fee) {
+        update(name, postalCodeFrom, postalCodeTo, fee);
+    }
+
+    public void update(String name, String postalCodeFrom, String postalCodeTo, int fee) {
+        this.name = name;
+        this.postalCodeFrom = postalCodeFrom;
+        this.postalCodeTo = postalCodeTo;
+        this.fee = fee;
+    }
+}
@@ -0,0 +1,20 @@
+package com.cafe.domain.delivery.zone.repository;
+
+import com.cafe.domain.delivery.zone.entity.DeliveryZone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DeliveryZoneRepository extends JpaRepository<DeliveryZone, Long> {
+    List<DeliveryZone> findAllByOrderByPostalCodeFromAsc();
+
+    // 우편번호는 5자리 고정이라 문자열 비교가 숫자 비교와 같다
+    @Query("""
+            select count(z) from DeliveryZone z
+            where z.postalCodeFrom <= :to and z.postalCodeTo >= :from
+              and (:excludeId is null or z.id <> :excludeId)""")
+    long countOverlapping(String from, String to, Long excludeId);
+}
@@ -0,0 +1,87 @@
+package com.cafe.domain.delivery.zone.service;
+
+import com.cafe.domain.delivery.zone.entity.DeliveryZone;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 우편번호 구간 인덱스 (불변)
+ * 구간 시작/끝을 정렬된 int 배열로 들고 있어서 조회는 우편번호를 숫자로 읽고 이진 탐색만 한다 (객체를 만들지 않음).
+ */
+public final class DeliveryZoneIndex {
+
+    public static final DeliveryZoneIndex EMPTY = new DeliveryZoneIndex(new int[0], new int[0], new Zone[0]);
+
+    /**
+     * 조회 결과, 인덱스를 만들 때 미리 만들어 둔다
+     */
+    public record Zone(Long id, String name, int fee) {
+    }
+
+    private final int[] starts;
+    private final int[] ends;
+    private final Zone[] zones;
+
+    private DeliveryZoneIndex(int[] starts, int[] ends, Zone[] zones) {
+        this.starts = starts;
+        this.ends = ends;
+        this.zones = zones;
+    }
+
+    /**
+     * 구간 시작 순으로 정렬된 배송 구역으로 인덱스를 만든다
+     * 우편번호가 잘못됐거나 앞 구간과 겹치는 구역은 건너뛴다 (등록할 때 검증하므로 예전 데이터만 해당).
+     */
+    public static DeliveryZoneIndex compile(List<DeliveryZone> sorted) {
+        int[] starts = new int[sorted.size()];
+        int[] ends = new int[sorted.size()];
+        Zone[] zones = new Zone[sorted.size()];
+        int size = 0;
+
+        for (DeliveryZone zone : sorted) {
+            int start = parse(zone.getPostalCodeFrom());
+            int end = parse(zone.getPostalCodeTo());
+            if (start < 0 || end < start) continue;
+            if (size > 0 && start <= ends[size - 1]) continue;
+
+            starts[size] = start;
+            ends[size] = end;
+            zones[size] = new Zone(zone.getId(), zone.getName(), zone.getFee());
+            size++;
+        }
+
+        return new DeliveryZoneIndex(
+                Arrays.copyOf(starts, size),
+                Arrays.copyOf(ends, size),
+                Arrays.copyOf(zones, size)
+        );
+    }
+
+    // 우편번호가 속한 구역, 없으면 null
+    public Zone find(String postalCode) {
+        int code = parse(postalCode);
+        if (code < 0) return null;
+
+        int i = Arrays.binarySearch(starts, code);
+        if (i < 0) i = -i - 2; // 시작이 우편번호보다 작은 구간 중 마지막
+        return i >= 0 && code <= ends[i] ? zones[i] : null;
+    }
+
+    public int size() {
+        return zones.length;
+    }
+
+    // 5자리 숫자가 아니면 -1
+    static int parse(String postalCode) {
+        if (postalCode == null || postalCode.length() != 5) return -1;
+
+        int code = 0;
+        for (int i = 0; i < 5; i++) {
+            char c = postalCode.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            code = code * 10 + (c - '0');
+        }
+        return code;
+    }
+}
@@ -0,0 +1,63 @@
+package com.cafe.domain.delivery.zone.service;
+
+import com.cafe.domain.delivery.zone.dto.DeliveryQuoteDto;
+import com.cafe.domain.delivery.zone.repository.DeliveryZoneRepository;
+import com.cafe.global.exception.ServiceException;
+import com.cafe.global.transaction.ReloadableSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 배송비 조회
+ * DB 의 배송 구역으로 DeliveryZoneIndex 를 만들어 두고, 구역이 바뀌면 새로 만들어서 통째로 바꾼다.
+ * 주문마다 조회하므로 조회 중에는 잠그지도, 객체를 만들지도 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeliveryZoneRegistry {
+
+    private final DeliveryZoneRepository deliveryZoneRepository;
+
+    // 어느 구역에도 없는 우편번호의 배송비
+    @Value("${app.delivery.default-fee:0}")
+    private int defaultFee;
+
+    private final ReloadableSnapshot<DeliveryZoneIndex> index = new ReloadableSnapshot<>(DeliveryZoneIndex.EMPTY, this::compile);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        index.load();
+    }
+
+    public int fee(String postalCode) {
+        DeliveryZoneIndex.Zone zone = index.get().find(postalCode);
+        return zone != null ? zone.fee() : defaultFee;
+    }
+
+    public DeliveryQuoteDto quote(String postalCode) {
+        if (DeliveryZoneIndex.parse(postalCode) < 0) {
+            throw new ServiceException("400-1", "우편번호는 5자리여야 합니다.");
+        }
+
+        DeliveryZoneIndex.Zone zone = index.get().find(postalCode);
+        return zone != null
+                ? new DeliveryQuoteDto(postalCode, zone.id(), zone.name(), zone.fee())
+                : new DeliveryQuoteDto(postalCode, null, null, defaultFee);
+    }
+
+    // 구역 변경 후 호출, 트랜잭션 안이면 커밋된 뒤에 읽는다
+    public void reload() {
+        index.reload();
+    }
+
+    private DeliveryZoneIndex compile() {
+        DeliveryZoneIndex compiled = DeliveryZoneIndex.compile(deliveryZoneRepository.findAllByOrderByPostalCodeFromAsc());
+        log.info("배송 구역 {}개 적용", compiled.size());
+        return compiled;
+    }
+}
@@ -0,0 +1,73 @@
+package com.cafe.domain.delivery.zone.service;
+
+import com.cafe.domain.delivery.zone.dto.DeliveryZoneDto;
+import com.cafe.domain.delivery.zone.dto.DeliveryZoneReqBody;
+import com.cafe.domain.delivery.zone.entity.DeliveryZone;
+import com.cafe.domain.delivery.zone.repository.DeliveryZoneRepository;
+import com.cafe.global.exception.ServiceException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 배송 구역 관리
+ * 바뀐 구역은 커밋된 뒤 DeliveryZoneRegistry 가 인덱스를 다시 만든다.
+ */
+@Service
+@RequiredArgsConstructor
+public class DeliveryZoneService {
+
+    private final DeliveryZoneRepository deliveryZoneRepository;
+    private final DeliveryZoneRegistry deliveryZoneRegistry;
+
+    @Transactional(readOnly = true)
+    public List<DeliveryZoneDto> findAll() {
+        return deliveryZoneRepository.findAllByOrderByPostalCodeFromAsc().stream()
+                .map(DeliveryZoneDto::new)
+                .toList();
+    }
+
+    @Transactional
+    public DeliveryZoneDto create(DeliveryZoneReqBody req) {
+        validate(req, null);
+
+        DeliveryZone zone = deliveryZoneRepository.save(
+                new DeliveryZone(req.name(), req.postalCodeFrom(), req.postalCodeTo(), req.fee())
+        );
+        deliveryZoneRegistry.reload();
+        return new DeliveryZoneDto(zone);
+    }
+
+    @Transactional
+    public DeliveryZoneDto modify(Long id, DeliveryZoneReqBody req) {
+        DeliveryZone zone = findById(id);
+        validate(req, id);
+
+        zone.update(req.name(), req.postalCodeFrom(), req.postalCodeTo(), req.fee());
+        deliveryZoneRegistry.reload();
+        return new DeliveryZoneDto(zone);
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        deliveryZoneRepository.delete(findById(id));
+        deliveryZoneRegistry.reload();
+    }
+
+    private DeliveryZone findById(Long id) {
+        return deliveryZoneRepository.findById(id)
+                .orElseThrow(() -> new ServiceException("404-1", "존재하지 않는 배송 구역입니다."));
+    }
+
+    // 우편번호 하나는 구역 하나에만 속하도록 구간이 겹치면 거절
+    private void validate(DeliveryZoneReqBody req, Long id) {
+        if (req.postalCodeFrom().compareTo(req.postalCodeTo()) > 0) {
+            throw new ServiceException("400-1", "구간 끝 우편번호는 시작 우편번호 이상이어야 합니다.");
+        }
+        if (deliveryZoneRepository.countOverlapping(req.postalCodeFrom(), req.postalCodeTo(), id) > 0) {
+            throw new ServiceException("409-1", "다른 배송 구역과 우편번호 구간이 겹칩니다.");
+        }
+    }
+}
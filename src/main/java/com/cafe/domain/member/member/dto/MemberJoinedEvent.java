@@ -0,0 +1,13 @@
+package com.cafe.domain.member.member.dto;
+
+/**
+ * 회원 가입 이벤트 (가입 트랜잭션 커밋 후 처리)
+ *
+ * @param memberId 가입한 회원 id
+ * @param email    가입한 이메일
+ */
+public record MemberJoinedEvent(
+        Long memberId,
+        String email
+) {
+}
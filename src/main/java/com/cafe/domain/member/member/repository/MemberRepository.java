@@ -3,6 +3,8 @@ package com.cafe.domain.member.member.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import com.cafe.domain.member.member.entity.Member;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface MemberRepository extends JpaRepository<Member, Long> {
@@ -10,4 +12,6 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     Optional<Member> findByEmail(String email);
 
     Optional<Member> findByApiKey(String apiKey);
+
+    List<Member> findByEmailIn(Collection<String> emails);
 }
@@ -1,9 +1,11 @@
 package com.cafe.domain.member.member.service;
 
+import com.cafe.domain.member.member.dto.MemberJoinedEvent;
 import com.cafe.domain.member.member.entity.Member;
 import com.cafe.domain.member.member.repository.MemberRepository;
 import com.cafe.global.exception.ServiceException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,12 +16,14 @@ import java.util.Optional;
 public class MemberService {
 
     private final MemberRepository memberRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public long count() {
         return memberRepository.count();
     }
 
-    // 회원가입
+    // 회원가입 - 같은 이메일의 비회원 주문은 커밋 후 백그라운드에서 회원에 연결된다
+    @Transactional
     public Member join(String email, String password, String nickname, String address, String postalCode) {
 
         memberRepository.findByEmail(email)
@@ -27,8 +31,9 @@ public class MemberService {
                     throw new ServiceException("409-1", "이미 가입된 이메일입니다.");
                 });
 
-        Member member = new Member(email, password, nickname, address, postalCode);
-        return memberRepository.save(member);
+        Member member = memberRepository.save(new Member(email, password, nickname, address, postalCode));
+        eventPublisher.publishEvent(new MemberJoinedEvent(member.getId(), member.getEmail()));
+        return member;
     }
 
     public Optional<Member> findByEmail(String email) {
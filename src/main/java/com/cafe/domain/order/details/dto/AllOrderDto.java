@@ -1,6 +1,5 @@
 package com.cafe.domain.order.details.dto;
 
-import com.cafe.domain.order.order.entity.GuestOrder;
 import com.cafe.domain.order.order.entity.Order;
 
 import java.time.LocalDateTime;
@@ -12,31 +11,25 @@ public record AllOrderDto(
         String postalCode,
         LocalDateTime orderTime,
         String status,
+        long totalAmount,
+        int itemCount,
+        long discountAmount,
+        int deliveryFee,
         List<OrderItemDto> items
 ) {
-    // 회원 주문
+    // 회원/비회원 모두 주문 당시 주문자 정보
     public AllOrderDto(Order order, String status) {
         this(
-                order.getMember() != null ? order.getMember().getEmail() : "",
-                order.getMember() != null ? order.getMember().getAddress() : "",
-                order.getMember() != null ? order.getMember().getPostalCode() : "",
+                order.getEmail(),
+                order.getAddress(),
+                order.getPostalCode(),
                 order.getCreatedAt(),
                 status,
-                order.getOrderItems().stream()
-                        .map(OrderItemDto::new)
-                        .toList()
-        );
-    }
-
-    // 비회원 주문
-    public AllOrderDto(GuestOrder guestOrder, String status) {
-        this(
-                guestOrder.getEmail(),
-                guestOrder.getAddress(),
-                guestOrder.getPostalCode(),
-                guestOrder.getCreatedAt(),
-                status,
-                guestOrder.getItems().stream()
+                order.getTotalAmount(),
+                order.getItemCount(),
+                order.getDiscountAmount(),
+                order.getDeliveryFee(),
+                order.getLines().stream()
                         .map(OrderItemDto::new)
                         .toList()
         );
@@ -1,6 +1,5 @@
 package com.cafe.domain.order.details.dto;
 
-import com.cafe.domain.order.order.entity.GuestOrder;
 import com.cafe.domain.order.order.entity.Order;
 
 import java.time.LocalDateTime;
@@ -10,27 +9,22 @@ public record OrderDto(
         Long orderId,
         LocalDateTime orderTime,
         String status,
+        long totalAmount,
+        int itemCount,
+        long discountAmount,
+        int deliveryFee,
         List<OrderItemDto> items
 ) {
-    // 회원 주문 생성자
     public OrderDto(Order order, String status) {
         this(
                 order.getId(),
                 order.getCreatedAt(),
                 status,
-                order.getOrderItems().stream()
-                        .map(OrderItemDto::new)
-                        .toList()
-        );
-    }
-
-    // 비회원 주문 생성자
-    public OrderDto(GuestOrder guestOrder, String status) {
-        this(
-                guestOrder.getId(),
-                guestOrder.getCreatedAt(),
-                status,
-                guestOrder.getItems().stream()
+                order.getTotalAmount(),
+                order.getItemCount(),
+                order.getDiscountAmount(),
+                order.getDeliveryFee(),
+                order.getLines().stream()
                         .map(OrderItemDto::new)
                         .toList()
         );
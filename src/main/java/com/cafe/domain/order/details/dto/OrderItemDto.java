@@ -1,28 +1,20 @@
 package com.cafe.domain.order.details.dto;
 
-import com.cafe.domain.order.order.entity.GuestOrderItem;
-import com.cafe.domain.order.order.entity.OrderItem;
+import com.cafe.domain.order.order.entity.OrderLine;
 
+/**
+ * @param price 주문 당시 단가 x 수량
+ */
 public record OrderItemDto(
         String productName,
         int quantity,
         int price
 ) {
-    // 회원 주문 아이템 변환
-    public OrderItemDto(OrderItem orderItem) {
+    public OrderItemDto(OrderLine line) {
         this(
-                orderItem.getProduct().getProductName(),
-                orderItem.getQuantity(),
-                orderItem.getProduct().getProductPrice() * orderItem.getQuantity()
-        );
-    }
-
-    // 비회원 주문 아이템 변환
-    public OrderItemDto(GuestOrderItem guestOrderItem) {
-        this(
-                guestOrderItem.getProduct().getProductName(),
-                guestOrderItem.getQuantity(),
-                guestOrderItem.getProduct().getProductPrice() * guestOrderItem.getQuantity()
+                line.productName(),
+                line.quantity(),
+                line.unitPrice() * line.quantity()
         );
     }
 }
\ No newline at end of file
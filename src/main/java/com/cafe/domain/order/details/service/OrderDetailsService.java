@@ -5,15 +5,14 @@ import com.cafe.domain.member.member.repository.MemberRepository;
 import com.cafe.domain.order.details.dto.AllOrderDto;
 import com.cafe.domain.order.details.dto.OrderDto;
 import com.cafe.domain.order.order.entity.Order;
-import com.cafe.domain.order.order.repository.GuestOrderRepository;
 import com.cafe.domain.order.order.repository.OrderRepository;
 import com.cafe.global.exception.ServiceException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -22,36 +21,41 @@ public class OrderDetailsService {
 
     private final MemberRepository memberRepository;
     private final OrderRepository orderRepository;
-    private final GuestOrderRepository guestOrderRepository;
 
+    // embedded 면 주문 상품이 주문 행에 인코딩되어 있으므로 주문 행만 읽는다
+    // (인코딩되지 않은 예전 주문은 기동 시 OrderDataMigration 이 채운다)
+    @Value("${app.order.item-storage:rows}")
+    private String itemStorage;
+
+    // 회원 주문 내역도 이메일로 조회 (가입 전 비회원 주문 포함, 회원 연결 전이어도 빠지지 않는다)
+    @Transactional(readOnly = true)
     public List<OrderDto> getOrdersByApiKey(String apiKey) {
         Member member = memberRepository.findByApiKey(apiKey)
                 .orElseThrow(() -> new ServiceException("401-1", "유효하지 않은 API Key입니다."));
 
-        List<Order> orders = orderRepository.findByMember(member);
+        return getOrdersByEmail(member.getEmail());
+    }
 
-        if (orders.isEmpty()) {
-            return List.of();
-        }
+    // 이메일 기반 조회 - 회원/비회원 주문 모두 주문자 이메일로
+    @Transactional(readOnly = true)
+    public List<OrderDto> getOrdersByEmail(String email) {
+        List<Order> orders = embedded()
+                ? orderRepository.findByEmailOrderByIdAsc(email)
+                : orderRepository.findByEmailWithItems(email);
 
-        return orderRepository.findByMember(member).stream()
-                .map(order -> new OrderDto(order, calculateStatus(order.getCreatedAt())))
+        return orders.stream()
+                .map(order -> new OrderDto(order, statusOf(order.getStatus(), order.getCreatedAt())))
                 .toList();
     }
 
-    // 이메일 기반 조회 - 회원, 비회원 구분
-    public List<OrderDto> getOrdersByEmail(String email) {
-        return memberRepository.findByEmail(email)
-                // 회원이면 Order에서 가져오기
-                .map(member -> orderRepository.findByMemberEmail(member.getEmail()).stream()
-                        .map(order -> new OrderDto(order, calculateStatus(order.getCreatedAt())))
-                        .toList()
-                )
-                // 비회원이면 GuestOrder에서 가져오기
-                .orElseGet(() -> guestOrderRepository.findByEmail(email).stream()
-                        .map(order -> new OrderDto(order, calculateStatus(order.getCreatedAt())))
-                        .toList()
-                );
+    private boolean embedded() {
+        return "embedded".equalsIgnoreCase(itemStorage);
+    }
+
+    // 취소된 주문은 시간과 관계없이 취소
+    private String statusOf(String status, LocalDateTime orderTime) {
+        if (Order.STATUS_CANCELED.equals(status)) return status;
+        return calculateStatus(orderTime);
     }
 
     public String calculateStatus(LocalDateTime orderTime) {
@@ -70,21 +74,13 @@ public class OrderDetailsService {
 
     @Transactional(readOnly = true)
     public List<AllOrderDto> getAllOrders() {
-        List<AllOrderDto> all = new ArrayList<>();
+        List<Order> orders = embedded()
+                ? orderRepository.findAllByOrderByIdAsc()
+                : orderRepository.findAllWithItems();
 
-        // 회원 주문
-        orderRepository.findAll().forEach(order -> {
-            String status = calculateStatus(order.getCreatedAt());
-            all.add(new AllOrderDto(order, status));
-        });
-
-        // 비회원 주문
-        guestOrderRepository.findAll().forEach(go -> {
-            String status = calculateStatus(go.getCreatedAt());
-            all.add(new AllOrderDto(go, status));
-        });
-
-        return all;
+        return orders.stream()
+                .map(order -> new AllOrderDto(order, statusOf(order.getStatus(), order.getCreatedAt())))
+                .toList();
     }
 
 }
\ No newline at end of file
@@ -1,16 +1,25 @@
 package com.cafe.domain.order.order.controller;
 
+import com.cafe.domain.order.order.dto.OrderBulkRequest;
+import com.cafe.domain.order.order.dto.OrderBulkResBody;
 import com.cafe.domain.order.order.dto.OrderCreateRequest;
+import com.cafe.domain.order.order.dto.OrderModifyRequest;
 import com.cafe.domain.order.order.dto.OrderResponse;
+import com.cafe.domain.order.order.dto.OrderTicketDto;
+import com.cafe.domain.order.order.service.OrderBatchWriter;
+import com.cafe.domain.order.order.service.OrderIdempotencyStore;
+import com.cafe.domain.order.order.service.OrderIngestService;
 import com.cafe.domain.order.order.service.OrderService;
+import com.cafe.global.exception.ServiceException;
 import com.cafe.global.rq.Rq;
 import com.cafe.global.rsData.RsData;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -18,12 +27,49 @@ import org.springframework.web.bind.annotation.RestController;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIngestService orderIngestService;
+    private final OrderIdempotencyStore orderIdempotencyStore;
+    private final OrderBatchWriter orderBatchWriter;
     private final Rq rq;
 
+    /**
+     * 주문 생성
+     * 비동기 접수 모드면 접수 번호(202), 아니면 생성된 주문(201)
+     * Idempotency-Key 헤더가 있으면 같은 키로 재시도한 요청에는 처음 응답을 그대로 돌려준다.
+     *
+     * @param idempotencyKey 클라이언트가 주문마다 만든 고유 키
+     * @param req
+     * @return
+     */
     @PostMapping
-    public RsData<OrderResponse> createOrder(@RequestBody @Valid OrderCreateRequest req) {
+    public RsData<?> createOrder(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody @Valid OrderCreateRequest req
+    ) {
         String apiKey = rq.getApiKeyOrNull();
 
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return placeOrder(req, apiKey);
+        }
+
+        OrderIdempotencyStore.Result result = orderIdempotencyStore.execute(
+                idempotencyKey, apiKey, req, () -> placeOrder(req, apiKey)
+        );
+        if (result.replayed()) {
+            rq.setHeader("Idempotent-Replayed", "true");
+        }
+        return result.response();
+    }
+
+    private RsData<?> placeOrder(OrderCreateRequest req, String apiKey) {
+        if (orderIngestService.isAsync()) {
+            return new RsData<>(
+                    "202-1",
+                    "주문이 접수되었습니다.",
+                    orderIngestService.submit(req, apiKey)
+            );
+        }
+
         OrderResponse response = orderService.createOrder(req, apiKey);
 
         return new RsData<>(
@@ -32,4 +78,89 @@ public class OrderController {
                 response
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * 대량 주문
+     * 회원/상품을 한 번에 읽고 여러 주문을 배치로 커밋한다. 일부가 실패해도 나머지 주문은 생성된다.
+     *
+     * @param req
+     * @return 주문별 결과
+     */
+    @PostMapping("/bulk")
+    public RsData<OrderBulkResBody> createOrders(@RequestBody @Valid OrderBulkRequest req) {
+        if (req.lineCount() > OrderBulkRequest.MAX_LINES) {
+            throw new ServiceException("400-4", "대량 주문의 상품은 모두 합쳐 %d줄까지입니다.".formatted(OrderBulkRequest.MAX_LINES));
+        }
+
+        String apiKey = rq.getApiKeyOrNull();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<OrderBatchWriter.Outcome> outcomes = orderBatchWriter.write(req.orders().stream()
+                .map(order -> new OrderBatchWriter.Pending(order, apiKey, now))
+                .toList());
+
+        List<OrderBulkResBody.Result> results = new ArrayList<>();
+        for (int i = 0; i < outcomes.size(); i++) {
+            OrderBatchWriter.Outcome outcome = outcomes.get(i);
+            results.add(outcome.isSuccess()
+                    ? new OrderBulkResBody.Result(i, "201-1", "주문이 생성되었습니다.", outcome.order())
+                    : new OrderBulkResBody.Result(i, outcome.resultCode(), outcome.msg(), null));
+        }
+        int succeeded = (int) outcomes.stream().filter(OrderBatchWriter.Outcome::isSuccess).count();
+
+        return new RsData<>(
+                "200-1",
+                "%d건 생성, %d건 실패".formatted(succeeded, outcomes.size() - succeeded),
+                new OrderBulkResBody(outcomes.size(), succeeded, outcomes.size() - succeeded, results)
+        );
+    }
+
+    /**
+     * 주문 수량 변경 (14:00 마감 전까지), 수량 0 은 주문에서 빼기
+     *
+     * @param orderId
+     * @param req
+     * @return 변경된 주문
+     */
+    @PatchMapping("/{orderId}")
+    public RsData<OrderResponse> modifyOrder(@PathVariable Long orderId, @RequestBody @Valid OrderModifyRequest req) {
+        OrderResponse response = orderService.modifyOrder(orderId, req, rq.getApiKeyOrNull());
+
+        return new RsData<>(
+                "200-1",
+                "주문이 변경되었습니다.",
+                response
+        );
+    }
+
+    /**
+     * 주문 취소 (14:00 마감 전까지), 재고는 돌려준다
+     *
+     * @param orderId
+     * @param email   주문자 이메일
+     * @return 취소된 주문
+     */
+    @PostMapping("/{orderId}/cancel")
+    public RsData<OrderResponse> cancelOrder(@PathVariable Long orderId, @RequestParam String email) {
+        OrderResponse response = orderService.cancelOrder(orderId, email, rq.getApiKeyOrNull());
+
+        return new RsData<>(
+                "200-1",
+                "주문이 취소되었습니다.",
+                response
+        );
+    }
+
+    // 접수된 주문 처리 상태 조회
+    @GetMapping("/tickets/{ticketId}")
+    public RsData<OrderTicketDto> getTicket(@PathVariable String ticketId) {
+        OrderTicketDto ticket = orderIngestService.findTicket(ticketId)
+                .orElseThrow(() -> new ServiceException("404-1", "접수 내역이 없거나 만료되었습니다."));
+
+        return new RsData<>(
+                "200-1",
+                "조회되었습니다.",
+                ticket
+        );
+    }
+}
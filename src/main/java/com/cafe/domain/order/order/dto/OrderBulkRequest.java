@@ -0,0 +1,25 @@
+package com.cafe.domain.order.order.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * 대량 주문 (배송지 여러 곳을 한 번에)
+ * 주문마다 createOrder 를 따로 호출한 것과 같이 처리한다.
+ * 주문 수와 별도로 전체 주문 상품 줄 수도 MAX_LINES 까지로 제한한다.
+ */
+public record OrderBulkRequest(
+        @NotEmpty @Size(max = OrderBulkRequest.MAX_ORDERS) @Valid List<OrderCreateRequest> orders
+) {
+    public static final int MAX_ORDERS = 1000;
+    public static final int MAX_LINES = 5000;
+
+    public int lineCount() {
+        return orders.stream()
+                .mapToInt(order -> order.items() != null ? order.items().size() : 0)
+                .sum();
+    }
+}
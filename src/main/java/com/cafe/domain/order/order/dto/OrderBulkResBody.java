@@ -0,0 +1,26 @@
+package com.cafe.domain.order.order.dto;
+
+import java.util.List;
+
+/**
+ * @param results 요청 순서대로 주문별 결과
+ */
+public record OrderBulkResBody(
+        int total,
+        int succeeded,
+        int failed,
+        List<Result> results
+) {
+    /**
+     * @param index      요청 orders 의 순번 (0부터)
+     * @param resultCode 주문별 결과 코드
+     * @param order      성공한 경우 주문
+     */
+    public record Result(
+            int index,
+            String resultCode,
+            String msg,
+            OrderResponse order
+    ) {
+    }
+}
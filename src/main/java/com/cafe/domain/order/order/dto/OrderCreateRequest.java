@@ -1,17 +1,34 @@
 package com.cafe.domain.order.order.dto;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 
 import java.util.List;
 
+/**
+ * @param items  주문 상품 (cartId 가 있으면 무시하고 장바구니 상품으로 주문)
+ * @param cartId 서버 장바구니 id, 재고가 홀드된 장바구니를 그대로 주문으로 전환
+ */
 public record OrderCreateRequest(
         @Email @NotBlank String email,
         @NotBlank String address,
         @NotBlank @Pattern(regexp = "\\d{5}", message = "우편번호는 5자리여야 합니다.") String postalCode,
-        @NotNull List<Item> items
+        @Size(max = OrderCreateRequest.MAX_ITEMS) @Valid List<Item> items,
+        String cartId
 ) {
+    // 한 주문의 최대 상품 줄 수
+    public static final int MAX_ITEMS = 500;
+
     public record Item(
             @NotNull Long productId,
             @Min(1) int quantity
     ) {}
-}
\ No newline at end of file
+
+    public OrderCreateRequest(String email, String address, String postalCode, List<Item> items) {
+        this(email, address, postalCode, items, null);
+    }
+
+    public OrderCreateRequest withItems(List<Item> items) {
+        return new OrderCreateRequest(email, address, postalCode, items, cartId);
+    }
+}
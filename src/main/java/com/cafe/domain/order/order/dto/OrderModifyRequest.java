@@ -0,0 +1,22 @@
+package com.cafe.domain.order.order.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+
+import java.util.List;
+
+/**
+ * 주문 수량 변경 (14:00 마감 전까지)
+ *
+ * @param email 주문자 이메일 (비회원은 이메일로 본인 주문인지 확인)
+ * @param items 바꿀 상품과 바꾼 뒤 수량, 0 이면 주문에서 뺀다
+ */
+public record OrderModifyRequest(
+        @Email @NotBlank String email,
+        @NotEmpty @Size(max = OrderCreateRequest.MAX_ITEMS) @Valid List<Item> items
+) {
+    public record Item(
+            @NotNull Long productId,
+            @Min(0) int quantity
+    ) {}
+}
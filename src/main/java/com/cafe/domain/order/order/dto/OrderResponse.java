@@ -10,6 +10,10 @@ public record OrderResponse(
         String postalCode,
         String status,
         LocalDateTime createdAt,
+        Long totalAmount,
+        Integer itemCount,
+        Long discountAmount,
+        Integer deliveryFee,
         List<OrderItemResponse> items
 ) {
     public record OrderItemResponse(
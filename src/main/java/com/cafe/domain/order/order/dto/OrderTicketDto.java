@@ -0,0 +1,22 @@
+package com.cafe.domain.order.order.dto;
+
+/**
+ * 비동기 접수된 주문의 처리 상태
+ *
+ * @param ticketId   접수 번호
+ * @param status     PENDING(대기) / DONE(주문 완료) / FAILED(실패)
+ * @param order      완료된 주문 (DONE 일 때만)
+ * @param resultCode 실패 코드 (FAILED 일 때만)
+ * @param msg        실패 사유 (FAILED 일 때만)
+ */
+public record OrderTicketDto(
+        String ticketId,
+        Status status,
+        OrderResponse order,
+        String resultCode,
+        String msg
+) {
+    public enum Status {
+        PENDING, DONE, FAILED
+    }
+}
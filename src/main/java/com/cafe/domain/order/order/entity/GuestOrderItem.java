@@ -1,40 +0,0 @@
-package com.cafe.domain.order.order.entity;
-
-import com.cafe.domain.order.order.dto.OrderResponse;
-import com.cafe.domain.product.product.entity.Product;
-import jakarta.persistence.*;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
-
-@Entity
-@NoArgsConstructor
-@Getter
-@Setter
-public class GuestOrderItem {
-
-    @Id
-    @GeneratedValue
-    private Long id;
-
-    @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    private GuestOrder guestOrder;
-
-    @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    private Product product;
-
-    private int quantity;
-
-    void setGuestOrder(GuestOrder guestOrder) {
-        this.guestOrder = guestOrder;
-    }
-
-    public OrderResponse.OrderItemResponse toDto() {
-        return new OrderResponse.OrderItemResponse(
-                product.getId(),
-                product.getProductName(),
-                product.getProductPrice(),
-                quantity
-        );
-    }
-}
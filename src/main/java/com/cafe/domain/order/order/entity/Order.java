@@ -4,9 +4,11 @@ import com.cafe.domain.member.member.entity.Member;
 import com.cafe.domain.order.order.dto.OrderResponse;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 
 import java.time.LocalDateTime;
@@ -17,34 +19,110 @@ import java.util.List;
 @NoArgsConstructor
 @Getter
 @Setter
-@Table(name = "orders")
+@Table(
+        name = "orders",
+        // 회원 이메일은 바뀌지 않으므로 회원/비회원 모두 주문자 이메일 + 창으로 주문 하나, 이메일 조회도 이 인덱스로
+        uniqueConstraints = @UniqueConstraint(name = "uk_orders_email_window", columnNames = {"email", "windowId"}),
+        indexes = {
+                @Index(name = "idx_orders_member_id", columnList = "member_id, id")
+        }
+)
 public class Order {
+    public static final String STATUS_CANCELED = "주문취소";
+
     @Id
-    @GeneratedValue
+    // 주문/주문 상품은 시퀀스를 50개씩 미리 받아 두고(pooled) insert 를 JDBC 배치로 보낸다 (IDENTITY 는 배치 불가)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq_gen")
+    @SequenceGenerator(name = "orders_seq_gen", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
     private String status;
 
+    // 수정/취소는 잠그지 않고 버전으로 충돌을 확인한다 (기존 행은 0 으로 채워진다)
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
 //    @LastModifiedDate
 //    private LocalDateTime updatedAt;
 
+    // 비회원 주문이면 null
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnore
     private Member member;
 
+    // 주문자 연락처/배송지 (회원도 주문 당시 값을 기록)
+    private String email;
+    private String address;
+    @Column(length = 5)
+    private String postalCode;
+
+    // 주문 창(14:00 ~ 다음날 14:00) 번호, 이메일당 창마다 주문 하나
+    private Integer windowId;
+
+    // 주문 합계(단가 x 수량의 합)와 상품 수량 합, 상품을 담을 때마다 같이 갱신해서 금액 조회/집계가 주문 테이블만 읽는다
+    private Long totalAmount = 0L;
+    private Integer itemCount = 0;
+
+    // 할인 금액 (상품을 담거나 수량을 바꿀 때마다 주문 전체로 다시 계산), 결제 금액 = totalAmount - discountAmount
+    @ColumnDefault("0")
+    private Long discountAmount = 0L;
 
-    @OneToMany(mappedBy = "order", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+    // 배송비 (주문을 만들 때 우편번호로 정해지고, 같은 창에 병합되는 주문은 따로 내지 않는다)
+    @ColumnDefault("0")
+    private Integer deliveryFee = 0;
+
+    @OneToMany(mappedBy = "order", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> orderItems = new ArrayList<>();
 
+    // 주문 상품을 인코딩해 둔 값 (app.order.item-storage=embedded), 있으면 조회할 때 주문 상품 행을 읽지 않는다
+    @Lob
+    private String encodedItems;
+
+    // encodedItems 를 처음 읽을 때 디코딩
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private List<OrderLine> lines;
+
+
+    public void setEncodedItems(String encodedItems) {
+        this.encodedItems = encodedItems;
+        this.lines = null;
+    }
+
+    // 주문 상품 - 인코딩된 값이 없으면 주문 상품 행에서
+    public List<OrderLine> getLines() {
+        if (encodedItems == null) {
+            return orderItems.stream().map(OrderItem::toLine).toList();
+        }
+        if (lines == null) {
+            lines = OrderLine.decode(encodedItems);
+        }
+        return lines;
+    }
 
     public void addItem(OrderItem item) {
         item.setOrder(this);
         orderItems.add(item);
     }
 
-    public OrderResponse toDto(String email, String address, String postalCode) {
+    public void removeItem(OrderItem item) {
+        orderItems.remove(item);
+    }
+
+    public boolean isCanceled() {
+        return STATUS_CANCELED.equals(status);
+    }
+
+    public void addAmount(int unitPrice, int quantity) {
+        totalAmount += (long) unitPrice * quantity;
+        itemCount += quantity;
+    }
+
+    public OrderResponse toDto() {
         return new OrderResponse(
                 id,
                 email,
@@ -52,8 +130,12 @@ public class Order {
                 postalCode,
                 status,
                 createdAt,
-                orderItems.stream()
-                        .map(OrderItem::toDto)
+                totalAmount,
+                itemCount,
+                discountAmount,
+                deliveryFee,
+                getLines().stream()
+                        .map(OrderLine::toDto)
                         .toList()
         );
     }
@@ -1,6 +1,5 @@
 package com.cafe.domain.order.order.entity;
 
-import com.cafe.domain.order.order.dto.OrderResponse;
 import com.cafe.domain.product.product.entity.Product;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
@@ -14,28 +13,36 @@ import lombok.Setter;
 @Setter
 public class OrderItem {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq_gen")
+    @SequenceGenerator(name = "order_item_seq_gen", sequenceName = "order_item_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JsonIgnore
     private Order order;
 
+    // 예전 주문에서 삭제된 상품이면 null (상품명/단가 기록만 남는다)
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnore
     private Product product;
     private int quantity;
 
+    private String productName; // 주문 당시 상품명
+    private Integer unitPrice; // 주문 당시 단가
+
     void setOrder(Order order) {
         this.order = order;
     }
 
-    public OrderResponse.OrderItemResponse toDto() {
-        return new OrderResponse.OrderItemResponse(
-                product.getId(),
-                product.getProductName(),
-                product.getProductPrice(),
-                quantity
-        );
+    // 주문 당시 상품명/단가를 같이 기록해서, 주문 내역을 읽을 때 상품을 조회하지 않고 이후 가격이 바뀌어도 그대로 둔다
+    public void setProduct(Product product) {
+        this.product = product;
+        this.productName = product.getProductName();
+        this.unitPrice = product.getProductPrice();
+    }
+
+    public OrderLine toLine() {
+        return new OrderLine(product != null ? product.getId() : null, productName, unitPrice, quantity);
     }
 }
@@ -0,0 +1,57 @@
+package com.cafe.domain.order.order.entity;
+
+import com.cafe.domain.order.order.dto.OrderResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 상품 한 줄 (주문 당시 상품명/단가)
+ * 주문 행에 인코딩할 때는 줄마다 "상품id|단가|수량|상품명 길이|상품명" 을 이어 붙인다. (상품id/단가가 없으면 빈 값)
+ * 상품명은 길이로 구분하므로 어떤 문자가 들어 있어도 이스케이프하지 않는다.
+ */
+public record OrderLine(Long productId, String productName, Integer unitPrice, int quantity) {
+
+    public OrderResponse.OrderItemResponse toDto() {
+        return new OrderResponse.OrderItemResponse(productId, productName, unitPrice, quantity);
+    }
+
+    public static String encode(List<OrderLine> lines) {
+        StringBuilder sb = new StringBuilder(lines.size() * 32);
+        for (OrderLine line : lines) {
+            String name = line.productName() != null ? line.productName() : "";
+            sb.append(line.productId() != null ? line.productId().toString() : "").append('|')
+                    .append(line.unitPrice() != null ? line.unitPrice().toString() : "").append('|')
+                    .append(line.quantity()).append('|')
+                    .append(name.length()).append('|')
+                    .append(name);
+        }
+        return sb.toString();
+    }
+
+    public static List<OrderLine> decode(String encoded) {
+        List<OrderLine> lines = new ArrayList<>(4);
+        int pos = 0;
+        while (pos < encoded.length()) {
+            int end = encoded.indexOf('|', pos);
+            Long productId = end > pos ? Long.parseLong(encoded, pos, end, 10) : null;
+
+            pos = end + 1;
+            end = encoded.indexOf('|', pos);
+            Integer unitPrice = end > pos ? Integer.parseInt(encoded, pos, end, 10) : null;
+
+            pos = end + 1;
+            end = encoded.indexOf('|', pos);
+            int quantity = Integer.parseInt(encoded, pos, end, 10);
+
+            pos = end + 1;
+            end = encoded.indexOf('|', pos);
+            int nameLength = Integer.parseInt(encoded, pos, end, 10);
+
+            pos = end + 1;
+            lines.add(new OrderLine(productId, encoded.substring(pos, pos + nameLength), unitPrice, quantity));
+            pos += nameLength;
+        }
+        return lines;
+    }
+}
@@ -2,21 +2,108 @@ package com.cafe.domain.order.order.repository;
 
 import com.cafe.domain.member.member.entity.Member;
 import com.cafe.domain.order.order.entity.Order;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-    List<Order> findByMember(Member member);
+    // 주문 내역 - 주문 상품까지 한 번에 읽는다
+    @Query("select distinct o from Order o left join fetch o.orderItems where o.email = :email order by o.id")
+    List<Order> findByEmailWithItems(String email);
 
-    List<Order> findByMemberEmail(String email);
+    @Query("select distinct o from Order o left join fetch o.orderItems order by o.id")
+    List<Order> findAllWithItems();
 
-    Optional<Order> findByMemberAndCreatedAtBetween(Member member,
-                                                    LocalDateTime start,
-                                                    LocalDateTime end);
+    @Query("select distinct o from Order o left join fetch o.orderItems where o.id in :ids")
+    List<Order> findAllWithItemsByIdIn(List<Long> ids);
+
+    // 주문 내역 - 주문 행만 (주문 상품을 인코딩해 둔 경우)
+    List<Order> findByEmailOrderByIdAsc(String email);
+
+    List<Order> findAllByOrderByIdAsc();
+
+    // 주문 상품을 인코딩해 두지 않은 주문 id (embedded 모드로 바꾼 뒤 채우기용)
+    @Query("select o.id from Order o where o.encodedItems is null order by o.id")
+    List<Long> findIdsWithoutEncodedItems(Pageable pageable);
+
+    // 이메일 + 창 번호는 unique
+    Optional<Order> findByEmailAndWindowId(String email, Integer windowId);
+
+    // 회원 가입 전에 같은 이메일로 한 비회원 주문 id (회원 연결용)
+    @Query("select o.id from Order o where o.email = :email and o.member is null order by o.id")
+    List<Long> findGuestOrderIds(String email, Pageable pageable);
+
+    // 버전을 올려서, 그 사이 잠그지 않고 읽은 수정/취소가 회원 연결을 덮어쓰지 않고 다시 읽도록 한다
+    @Modifying
+    @Query("update versioned Order o set o.member = :member where o.id in :ids and o.member is null")
+    int attachMember(Member member, List<Long> ids);
+
+    // 병합 중에는 같은 창의 다른 주문 요청이 기다리도록 잠근다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Order> findWithLockById(Long id);
+
+    // 창 번호가 채워진 주문이 있는지 (windowId 채우기를 이미 했는지)
+    boolean existsByWindowIdIsNotNull();
+
+    // 창 번호가 없는 취소되지 않은 주문, afterId 다음부터 id 순 (windowId 채우기용)
+    @Query("""
+            select o from Order o
+            where o.windowId is null and o.id > :afterId and o.email is not null and o.createdAt is not null
+              and (o.status is null or o.status <> :canceled)
+            order by o.id""")
+    List<Order> findWindowlessOrders(Long afterId, String canceled, Pageable pageable);
+
+    // (주문 id, 이메일) - 해당 창의 주문 (열린 주문 창 복구용)
+    @Query("select o.id, o.email from Order o where o.windowId = :windowId")
+    List<Object[]> findOpenWindowOrders(int windowId);
+
+    // 상품이 담기지 않은 주문 삭제 (선점만 하고 실패한 주문 창)
+    @Modifying
+    @Query("delete from Order o where o.id = :id and not exists (select 1 from OrderItem oi where oi.order.id = :id)")
+    int deleteIfEmpty(Long id);
+
+    // 상품명/단가 기록 전에 만들어진 주문 상품에 현재 상품 정보를 채운다
+    @Modifying
+    @Query("""
+            update OrderItem oi
+            set oi.productName = (select p.productName from Product p where p.id = oi.product.id),
+                oi.unitPrice = (select p.productPrice from Product p where p.id = oi.product.id)
+            where oi.unitPrice is null and oi.product is not null""")
+    int backfillItemSnapshots();
+
+    // 주문에 연락처/배송지를 기록하기 전의 회원 주문에 회원 정보를 채운다
+    @Modifying
+    @Query("""
+            update Order o
+            set o.email = (select m.email from Member m where m.id = o.member.id),
+                o.address = (select m.address from Member m where m.id = o.member.id),
+                o.postalCode = (select m.postalCode from Member m where m.id = o.member.id)
+            where o.email is null and o.member is not null""")
+    int backfillMemberContacts();
+
+    // 합계 기록 전에 만들어진 주문에 주문 상품으로 합계/수량을 채운다 (backfillItemSnapshots 다음에 실행)
+    @Modifying
+    @Query("""
+            update Order o
+            set o.totalAmount = coalesce((select sum(cast(oi.unitPrice as Long) * oi.quantity) from OrderItem oi where oi.order.id = o.id), 0),
+                o.itemCount = coalesce((select sum(oi.quantity) from OrderItem oi where oi.order.id = o.id), 0)
+            where o.totalAmount is null or o.itemCount is null""")
+    int backfillTotals();
+
+    // (주문 id, 주문 버전, 주문 시각, 상품 id) 를 주문 id 순으로 스트리밍 (추천 행렬 재생성용)
+    @Query("select o.id, o.version, o.createdAt, oi.product.id from OrderItem oi join oi.order o where oi.product is not null order by o.id")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    Stream<Object[]> streamOrderProductPairs();
 }
@@ -0,0 +1,59 @@
+package com.cafe.domain.order.order.service;
+
+import com.cafe.domain.member.member.dto.MemberJoinedEvent;
+import com.cafe.domain.member.member.entity.Member;
+import com.cafe.domain.member.member.repository.MemberRepository;
+import com.cafe.domain.order.order.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 비회원으로 주문했던 이메일로 회원 가입하면, 그 비회원 주문을 새 회원에 연결한다
+ * 가입 커밋 후 백그라운드에서 CHUNK_SIZE 건씩 트랜잭션을 나눠 UPDATE 하므로 가입 요청을 기다리게 하지 않고,
+ * 주문이 많아도 한 번에 오래 잠그지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GuestOrderAttacher {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final OrderRepository orderRepository;
+    private final MemberRepository memberRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Async
+    @TransactionalEventListener
+    public void onMemberJoined(MemberJoinedEvent event) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        int attached = 0;
+        for (int chunk; (chunk = tx.execute(status -> attachChunk(event))) > 0; ) {
+            attached += chunk;
+        }
+
+        if (attached > 0) {
+            log.info("비회원 주문 {}건을 회원 {} 에 연결", attached, event.memberId());
+        }
+    }
+
+    // 연결된 주문은 조회 조건(member is null) 에서 빠지므로 매번 첫 페이지를 읽는다
+    private int attachChunk(MemberJoinedEvent event) {
+        List<Long> ids = orderRepository.findGuestOrderIds(event.email(), PageRequest.of(0, CHUNK_SIZE));
+        if (ids.isEmpty()) return 0;
+
+        Member member = memberRepository.getReferenceById(event.memberId());
+        // 다른 요청이 먼저 바꿔서 0 건이 되어도 다음 조회에서 남은 주문을 다시 찾는다
+        orderRepository.attachMember(member, ids);
+        return ids.size();
+    }
+}
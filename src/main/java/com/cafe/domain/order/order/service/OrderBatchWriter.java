@@ -0,0 +1,109 @@
+package com.cafe.domain.order.order.service;
+
+import com.cafe.domain.order.order.dto.OrderCreateRequest;
+import com.cafe.domain.order.order.dto.OrderResponse;
+import com.cafe.global.exception.ServiceException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 주문 여러 건을 batch-size 씩 트랜잭션 하나로 커밋 (비동기 접수, 대량 주문)
+ * 재고 부족 같은 주문 오류는 그 주문의 세이브포인트만 되돌리고 나머지는 같이 커밋한다.
+ * 그 밖의 오류로 배치가 실패하면 배치만 롤백하고 주문마다 따로 다시 처리해서 실패한 주문만 실패로 남긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderBatchWriter {
+
+    private final OrderService orderService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.order.ingest.batch-size:100}")
+    private int batchSize;
+
+    /**
+     * @param apiKey 로그인 사용자 api key, 비회원이면 null
+     * @param now    주문 시각 (접수 시각)
+     */
+    public record Pending(OrderCreateRequest req, String apiKey, LocalDateTime now) {
+    }
+
+    /**
+     * 주문 한 건의 처리 결과
+     *
+     * @param order      성공하면 주문
+     * @param resultCode 실패 코드
+     * @param msg        실패 사유
+     */
+    public record Outcome(OrderResponse order, String resultCode, String msg) {
+        public boolean isSuccess() {
+            return order != null;
+        }
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    // 결과는 입력 순서대로
+    public List<Outcome> write(List<Pending> pendings) {
+        Outcome[] outcomes = new Outcome[pendings.size()];
+
+        // 요청 오류는 배치에 넣지 않는다 (한 건 때문에 배치 전체를 다시 처리하지 않도록)
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < pendings.size(); i++) {
+            try {
+                orderService.validate(pendings.get(i).req());
+                valid.add(i);
+            } catch (ServiceException e) {
+                outcomes[i] = new Outcome(null, e.getResultCode(), e.getMsg());
+            }
+        }
+
+        for (int from = 0; from < valid.size(); from += batchSize) {
+            writeBatch(pendings, valid.subList(from, Math.min(from + batchSize, valid.size())), outcomes);
+        }
+
+        return Arrays.asList(outcomes);
+    }
+
+    private void writeBatch(List<Pending> pendings, List<Integer> indexes, Outcome[] outcomes) {
+        List<Pending> batch = indexes.stream().map(pendings::get).toList();
+
+        try {
+            List<Outcome> results = new TransactionTemplate(transactionManager).execute(status ->
+                    orderService.createOrdersInTransaction(batch)
+            );
+
+            for (int i = 0; i < indexes.size(); i++) {
+                outcomes[indexes.get(i)] = results.get(i);
+            }
+        } catch (RuntimeException e) {
+            // 어떤 주문이 실패했는지 모르므로 하나씩 다시 처리
+            for (int i = 0; i < indexes.size(); i++) {
+                outcomes[indexes.get(i)] = writeOne(batch.get(i));
+            }
+        }
+    }
+
+    private Outcome writeOne(Pending pending) {
+        try {
+            return new Outcome(orderService.createOrder(pending.req(), pending.apiKey(), pending.now()), null, null);
+        } catch (ServiceException e) {
+            return new Outcome(null, e.getResultCode(), e.getMsg());
+        } catch (RuntimeException e) {
+            log.error("주문 처리 실패: {}", pending.req().email(), e);
+            return new Outcome(null, "500-1", "주문을 처리하지 못했습니다.");
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.cafe.domain.order.order.service;
+
+import com.cafe.domain.order.order.entity.Order;
+import com.cafe.domain.order.order.entity.OrderItem;
+import com.cafe.domain.order.order.entity.OrderLine;
+import com.cafe.domain.order.order.repository.OrderRepository;
+import com.cafe.domain.product.product.entity.Product;
+import com.cafe.domain.product.product.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 예전 형식으로 저장된 주문 데이터를 기동 시 한 번 현재 형식으로 옮긴다
+ * 1. 연락처/배송지가 없는 회원 주문에 회원 정보를 채운다
+ * 2. windowId 가 생기기 전 주문에 창 번호를 채운다 (창 번호가 있는 주문이 하나도 없을 때, 즉 도입 후 첫 기동에만)
+ *    같은 (주문자, 창) 에 주문이 여러 개면 (예전 동시 주문) 가장 먼저 만들어진 주문만 채우고
+ *    나머지는 null 로 두어 병합 대상에서 뺀다. 취소된 주문은 창을 비워 둔 것이므로 채우지 않는다.
+ * 3. 비회원 주문 테이블(guest_order, guest_order_item) → orders, order_item (회원 없는 주문)
+ *    회원 주문의 이메일/창 번호가 먼저 채워져 있어야 같은 이메일/창의 회원 주문과 겹치는지 알 수 있다.
+ * 4. 주문 상품에 상품명/단가가 없으면 그 시점의 상품 가격으로 채운다 (기록되지 않은 가격은 알 수 없으므로)
+ * 5. 합계/수량이 없는 주문은 주문 상품으로 계산해 둔다
+ * 6. embedded 모드면 주문 상품을 인코딩해 두지 않은 주문(rows 모드에서 쓰인 주문, 옮긴 비회원 주문)을 인코딩한다
+ *    비어 있는 주문이 남아 있으면 주문 내역 조회가 주문마다 주문 상품을 따로 읽는다.
+ * 주문 창 복구(OrderWindowRegistry) 보다 먼저 실행된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderDataMigration {
+
+    // 비회원 주문을 옮길 때 트랜잭션 하나에 처리하는 주문 수
+    private static final int CHUNK_SIZE = 500;
+
+    private final OrderRepository orderRepository;
+    private final ProductRepository productRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.order.item-storage:rows}")
+    private String itemStorage;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @org.springframework.core.annotation.Order(Ordered.HIGHEST_PRECEDENCE)
+    public void migrate() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        tx.executeWithoutResult(status -> {
+            int contacts = orderRepository.backfillMemberContacts();
+            if (contacts > 0) {
+                log.info("회원 주문 {}건에 연락처/배송지 기록", contacts);
+            }
+        });
+
+        // 나중에 만들어진 주문은 창 번호를 갖고 만들어지므로, 하나라도 있으면 이미 채운 것이다
+        if (!Boolean.TRUE.equals(tx.execute(status -> orderRepository.existsByWindowIdIsNotNull()))) {
+            int windows = Objects.requireNonNull(tx.execute(status -> backfillWindowIds()));
+            if (windows > 0) {
+                log.info("주문 {}건에 창 번호 기록", windows);
+            }
+        }
+
+        if (Boolean.TRUE.equals(tx.execute(status -> guestTablesExist()))) {
+            int migrated = 0;
+            for (int chunk; (chunk = tx.execute(status -> migrateGuestOrders())) > 0; ) {
+                migrated += chunk;
+            }
+            tx.executeWithoutResult(status -> {
+                em.createNativeQuery("drop table guest_order_item").executeUpdate();
+                em.createNativeQuery("drop table guest_order").executeUpdate();
+            });
+            log.info("비회원 주문 {}건을 주문 테이블로 옮김", migrated);
+        }
+
+        tx.executeWithoutResult(status -> {
+            int snapshots = orderRepository.backfillItemSnapshots();
+            if (snapshots > 0) {
+                log.info("주문 상품 {}건에 상품명/단가 기록", snapshots);
+            }
+
+            int totals = orderRepository.backfillTotals();
+            if (totals > 0) {
+                log.info("주문 {}건에 합계/수량 기록", totals);
+            }
+        });
+
+        if ("embedded".equalsIgnoreCase(itemStorage)) {
+            int encoded = 0;
+            for (int chunk; (chunk = tx.execute(status -> encodeItems())) > 0; ) {
+                encoded += chunk;
+            }
+            if (encoded > 0) {
+                log.info("주문 {}건의 주문 상품 인코딩", encoded);
+            }
+        }
+    }
+
+    // 창 번호가 없는 주문을 id 순으로 CHUNK_SIZE 건씩 읽어 채운다, 채운 건수
+    private int backfillWindowIds() {
+        Set<String> claimed = new HashSet<>();
+        int filled = 0;
+
+        long afterId = 0;
+        for (List<Order> chunk; !(chunk = orderRepository.findWindowlessOrders(
+                afterId, Order.STATUS_CANCELED, PageRequest.of(0, CHUNK_SIZE))).isEmpty(); ) {
+            for (Order order : chunk) {
+                int windowId = OrderWindowRegistry.windowId(order.getCreatedAt());
+                if (claimed.add(order.getEmail() + ":" + windowId)) {
+                    order.setWindowId(windowId);
+                    filled++;
+                }
+            }
+            afterId = chunk.get(chunk.size() - 1).getId();
+            em.flush();
+            em.clear();
+        }
+
+        return filled;
+    }
+
+    // 인코딩되지 않은 주문을 CHUNK_SIZE 건 인코딩한다, 인코딩한 건수
+    private int encodeItems() {
+        List<Long> ids = orderRepository.findIdsWithoutEncodedItems(PageRequest.of(0, CHUNK_SIZE));
+        if (ids.isEmpty()) return 0;
+
+        orderRepository.findAllWithItemsByIdIn(ids).forEach(order -> order.setEncodedItems(
+                OrderLine.encode(order.getOrderItems().stream().map(OrderItem::toLine).toList())
+        ));
+
+        return ids.size();
+    }
+
+    private boolean guestTablesExist() {
+        Number count = (Number) em.createNativeQuery(
+                "select count(*) from information_schema.tables where upper(table_name) in ('GUEST_ORDER', 'GUEST_ORDER_ITEM')"
+        ).getSingleResult();
+        return count.intValue() == 2;
+    }
+
+    // 비회원 주문을 CHUNK_SIZE 건 옮기고 지운다, 옮긴 건수
+    @SuppressWarnings("unchecked")
+    private int migrateGuestOrders() {
+        List<Object[]> orders = em.createNativeQuery(
+                        "select id, email, address, postal_code, status, window_id, created_at from guest_order order by id")
+                .setMaxResults(CHUNK_SIZE)
+                .getResultList();
+        if (orders.isEmpty()) return 0;
+
+        List<Long> guestOrderIds = orders.stream().map(row -> ((Number) row[0]).longValue()).toList();
+        List<Object[]> items = em.createNativeQuery(
+                        "select guest_order_id, product_id, quantity, product_name, unit_price from guest_order_item where guest_order_id in (:ids) order by id")
+                .setParameter("ids", guestOrderIds)
+                .getResultList();
+
+        Map<Long, Product> products = productRepository.findAllById(items.stream()
+                        .map(row -> ((Number) row[1]).longValue())
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        Map<Long, Order> migrated = new HashMap<>();
+        for (Object[] row : orders) {
+            Order order = new Order();
+            order.setEmail((String) row[1]);
+            order.setAddress((String) row[2]);
+            order.setPostalCode((String) row[3]);
+            order.setStatus((String) row[4]);
+            order.setWindowId(windowIdIfFree(order.getEmail(), (Number) row[5]));
+            order.setCreatedAt(toLocalDateTime(row[6]));
+            // 합계/수량은 마지막 단계에서 주문 상품으로 계산한다
+            order.setTotalAmount(null);
+            order.setItemCount(null);
+            migrated.put(((Number) row[0]).longValue(), order);
+        }
+
+        for (Object[] row : items) {
+            Product product = products.get(((Number) row[1]).longValue());
+
+            OrderItem item = new OrderItem();
+            // 삭제된 상품은 상품 없이 주문 당시 기록(상품명/단가)만 남긴다 (합계에서 빠지지 않도록)
+            if (product != null) item.setProduct(product);
+            item.setQuantity(((Number) row[2]).intValue());
+            // 주문 당시 기록이 있으면 그대로 둔다
+            if (product == null || row[4] != null) {
+                item.setProductName((String) row[3]);
+                item.setUnitPrice(row[4] != null ? ((Number) row[4]).intValue() : null);
+            }
+            migrated.get(((Number) row[0]).longValue()).addItem(item);
+        }
+
+        orderRepository.saveAll(migrated.values());
+
+        em.createNativeQuery("delete from guest_order_item where guest_order_id in (:ids)")
+                .setParameter("ids", guestOrderIds)
+                .executeUpdate();
+        em.createNativeQuery("delete from guest_order where id in (:ids)")
+                .setParameter("ids", guestOrderIds)
+                .executeUpdate();
+
+        return orders.size();
+    }
+
+    // 그 사이 같은 이메일로 회원 가입 후 같은 창에 주문했으면 창 번호를 비운다 (병합 대상에서 뺀다)
+    private Integer windowIdIfFree(String email, Number windowId) {
+        if (windowId == null) return null;
+        return orderRepository.findByEmailAndWindowId(email, windowId.intValue()).isPresent()
+                ? null
+                : windowId.intValue();
+    }
+
+    private LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) return timestamp.toLocalDateTime();
+        return (LocalDateTime) value;
+    }
+}
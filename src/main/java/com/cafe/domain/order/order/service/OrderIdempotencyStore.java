@@ -0,0 +1,118 @@
+package com.cafe.domain.order.order.service;
+
+import com.cafe.domain.order.order.dto.OrderCreateRequest;
+import com.cafe.global.exception.ServiceException;
+import com.cafe.global.rsData.RsData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 주문 생성 Idempotency-Key 저장소
+ * 같은 키로 다시 요청하면 주문을 다시 만들지 않고 처음 응답을 돌려준다.
+ * 처리 중인 키로 동시에 들어온 요청은 처음 요청의 결과를 기다린다.
+ * 실패한 요청은 저장하지 않아서 같은 키로 다시 시도할 수 있다.
+ * 키는 ttl 이 지나거나 maxEntries 를 넘으면 오래된 것부터 지운다.
+ */
+@Component
+public class OrderIdempotencyStore {
+
+    @Value("${app.order.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${app.order.idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    /**
+     * @param replayed 저장된 응답을 돌려준 경우 true
+     */
+    public record Result(RsData<?> response, boolean replayed) {
+    }
+
+    private record Entry(OrderCreateRequest req, CompletableFuture<RsData<?>> response, long expiresAt) {
+    }
+
+    // 넣은 순서 = 만료 순서
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    /**
+     * @param key     Idempotency-Key (apiKey 별로 구분)
+     * @param apiKey  로그인 사용자 api key, 비회원이면 null
+     * @param req     같은 키에 다른 요청 본문이 오면 422
+     * @param handler 처음 요청일 때 실행
+     */
+    public Result execute(String key, String apiKey, OrderCreateRequest req, Supplier<RsData<?>> handler) {
+        String scopedKey = Objects.toString(apiKey, "") + ":" + key;
+        CompletableFuture<RsData<?>> mine = new CompletableFuture<>();
+        Entry existing;
+
+        synchronized (entries) {
+            evictExpired(System.nanoTime());
+            existing = entries.get(scopedKey);
+            if (existing == null) {
+                entries.put(scopedKey, new Entry(req, mine, System.nanoTime() + ttl.toNanos()));
+                if (entries.size() > maxEntries) {
+                    evictEldestCompleted();
+                }
+            }
+        }
+
+        if (existing != null) {
+            if (!existing.req().equals(req)) {
+                throw new ServiceException("422-1", "같은 Idempotency-Key 로 다른 주문을 요청했습니다.");
+            }
+            return new Result(await(existing.response()), true);
+        }
+
+        try {
+            RsData<?> response = handler.get();
+            mine.complete(response);
+            return new Result(response, false);
+        } catch (RuntimeException e) {
+            // 실패는 기억하지 않는다, 기다리던 요청에는 같은 예외를 전달
+            synchronized (entries) {
+                entries.remove(scopedKey);
+            }
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private RsData<?> await(CompletableFuture<RsData<?>> response) {
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException("503-1", "요청 처리 중 중단되었습니다.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.expiresAt() - now > 0) break;
+            if (entry.response().isDone()) it.remove();
+        }
+    }
+
+    // 처리 중인 키는 지우지 않는다 (지우면 중복 실행될 수 있다)
+    private void evictEldestCompleted() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext() && entries.size() > maxEntries) {
+            if (it.next().getValue().response().isDone()) it.remove();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.cafe.domain.order.order.service;
+
+import com.cafe.domain.order.order.dto.OrderCreateRequest;
+import com.cafe.domain.order.order.dto.OrderResponse;
+import com.cafe.domain.order.order.dto.OrderTicketDto;
+import com.cafe.global.exception.ServiceException;
+import com.cafe.global.timer.TimingWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 비동기 주문 접수 (app.order.ingest-mode=async)
+ * 요청은 크기가 정해진 큐에 넣고 접수 번호(ticket) 를 바로 돌려준다.
+ * writer 스레드 하나가 큐를 batch-size 만큼씩 꺼내 OrderBatchWriter 로 트랜잭션 하나에 커밋하므로
+ * 몰리는 요청 수와 관계없이 커넥션은 하나만 쓴다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderIngestService {
+
+    private final OrderService orderService;
+    private final OrderBatchWriter orderBatchWriter;
+
+    @Value("${app.order.ingest-mode:sync}")
+    private String ingestMode;
+
+    @Value("${app.order.ingest.queue-capacity:10000}")
+    private int queueCapacity;
+
+    // 처리가 끝난 ticket 을 보관하는 시간
+    @Value("${app.order.ingest.ticket-ttl:10m}")
+    private Duration ticketTtl;
+
+    private record Pending(String ticketId, OrderCreateRequest req, String apiKey, LocalDateTime now) {
+    }
+
+    private BlockingQueue<Pending> queue;
+    private final Map<String, OrderTicketDto> tickets = new ConcurrentHashMap<>();
+    private TimingWheel timingWheel; // 비동기 모드에서만 만든다
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!isAsync()) return;
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        timingWheel = new TimingWheel(Duration.ofSeconds(1), 512, "order-ticket-timer");
+        running = true;
+        writer = new Thread(this::drain, "order-ingest-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            // 남은 주문은 처리하고 끝낸다
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        if (timingWheel != null) {
+            timingWheel.close();
+        }
+    }
+
+    public boolean isAsync() {
+        return "async".equalsIgnoreCase(ingestMode);
+    }
+
+    /**
+     * 주문 접수
+     * 큐가 가득 차면 503 으로 거절한다.
+     *
+     * @return 접수 번호
+     */
+    public OrderTicketDto submit(OrderCreateRequest req, String apiKey) {
+        if (!isAsync()) {
+            throw new IllegalStateException("비동기 주문 접수가 꺼져 있습니다. (app.order.ingest-mode=async)");
+        }
+        orderService.validate(req);
+
+        String ticketId = UUID.randomUUID().toString();
+        OrderTicketDto ticket = new OrderTicketDto(ticketId, OrderTicketDto.Status.PENDING, null, null, null);
+        tickets.put(ticketId, ticket);
+
+        if (!queue.offer(new Pending(ticketId, req, apiKey, LocalDateTime.now()))) {
+            tickets.remove(ticketId);
+            throw new ServiceException("503-1", "주문이 많아 접수하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        return ticket;
+    }
+
+    public Optional<OrderTicketDto> findTicket(String ticketId) {
+        return Optional.ofNullable(tickets.get(ticketId));
+    }
+
+    private void drain() {
+        int batchSize = orderBatchWriter.getBatchSize();
+        List<Pending> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // writer 가 멈추지 않도록 한다
+                log.error("주문 배치 처리 실패", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        List<OrderBatchWriter.Outcome> outcomes = orderBatchWriter.write(batch.stream()
+                .map(p -> new OrderBatchWriter.Pending(p.req(), p.apiKey(), p.now()))
+                .toList());
+
+        for (int i = 0; i < batch.size(); i++) {
+            OrderBatchWriter.Outcome outcome = outcomes.get(i);
+            if (outcome.isSuccess()) complete(batch.get(i), outcome.order());
+            else fail(batch.get(i), outcome.resultCode(), outcome.msg());
+        }
+    }
+
+    private void complete(Pending pending, OrderResponse order) {
+        finish(new OrderTicketDto(pending.ticketId(), OrderTicketDto.Status.DONE, order, null, null));
+    }
+
+    private void fail(Pending pending, String resultCode, String msg) {
+        finish(new OrderTicketDto(pending.ticketId(), OrderTicketDto.Status.FAILED, null, resultCode, msg));
+    }
+
+    private void finish(OrderTicketDto ticket) {
+        tickets.put(ticket.ticketId(), ticket);
+        timingWheel.schedule(() -> tickets.remove(ticket.ticketId()), ticketTtl);
+    }
+}
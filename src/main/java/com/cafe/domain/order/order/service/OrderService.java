@@ -1,36 +1,81 @@
 package com.cafe.domain.order.order.service;
 
+import com.cafe.domain.cart.cart.service.CartService;
+import com.cafe.domain.delivery.zone.service.DeliveryZoneRegistry;
 import com.cafe.domain.member.member.entity.Member;
 import com.cafe.domain.member.member.repository.MemberRepository;
 import com.cafe.domain.order.order.dto.OrderCreateRequest;
+import com.cafe.domain.order.order.dto.OrderModifyRequest;
 import com.cafe.domain.order.order.dto.OrderResponse;
-import com.cafe.domain.order.order.entity.GuestOrder;
-import com.cafe.domain.order.order.entity.GuestOrderItem;
 import com.cafe.domain.order.order.entity.Order;
 import com.cafe.domain.order.order.entity.OrderItem;
-import com.cafe.domain.order.order.repository.GuestOrderRepository;
+import com.cafe.domain.order.order.entity.OrderLine;
 import com.cafe.domain.order.order.repository.OrderRepository;
+import com.cafe.domain.order.recommend.service.OrderRecommendService;
 import com.cafe.domain.product.product.entity.Product;
 import com.cafe.domain.product.product.repository.ProductRepository;
+import com.cafe.domain.product.product.service.ProductService;
+import com.cafe.domain.promotion.promotion.service.PromotionEngine;
+import com.cafe.domain.promotion.promotion.service.PromotionRules;
 import com.cafe.global.exception.ServiceException;
-import jakarta.transaction.Transactional;
+import com.cafe.global.transaction.AfterCommit;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.util.NoSuchElementException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * 주문 생성
+ * 주문자(회원이면 회원 이메일) 당 14:00 ~ 다음날 14:00 창마다 주문이 하나만 있도록
+ * (email, windowId) unique 키로 창을 선점한 뒤 그 주문에 상품을 병합한다.
+ * 창 선점과 병합은 각각 별도 트랜잭션이다. 호출한 쪽에 트랜잭션이 있으면 병합은 거기에 참여한다.
+ * 수정/취소는 주문을 잠그지 않고 @Version 으로 충돌을 확인해서, 충돌하면 다시 읽어서 처리한다.
+ * 할인은 상품을 담거나 수량을 바꿀 때마다 주문 전체로 다시 계산하고, 배송비는 주문을 만들 때 우편번호로 정한다.
+ */
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class OrderService {
 
+    // 수정/취소가 다른 요청과 충돌했을 때 시도하는 횟수
+    private static final int MAX_CONFLICT_ATTEMPTS = 5;
+
     private final OrderRepository orderRepository;
-    private final GuestOrderRepository guestOrderRepository;
     private final MemberRepository memberRepository;
     private final ProductRepository productRepository;
+    private final OrderRecommendService orderRecommendService;
+    private final ProductService productService;
+    private final CartService cartService;
+    private final OrderWindowRegistry orderWindowRegistry;
+    private final PromotionEngine promotionEngine;
+    private final DeliveryZoneRegistry deliveryZoneRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager em;
 
+    // rows: 주문 상품은 order_item 행으로만, embedded: 주문 행에도 인코딩해서 같이 저장
+    @Value("${app.order.item-storage:rows}")
+    private String itemStorage;
 
     // 기본 createOrder
     public OrderResponse createOrder(OrderCreateRequest req, String apiKey) {
@@ -38,146 +83,461 @@ public class OrderService {
         return createOrder(req, apiKey, now); // 오버로딩 호출 (중복 제거)
     }
 
-    // 회원 주문 생성
-    private Order buildMemberOrder(Member member, OrderCreateRequest req, LocalDateTime now) {
-        Order order = new Order();
-        order.setStatus("배송준비중");
+    // 주문에 상품 추가 (같은 상품이 있으면 수량만 증가)
+    private OrderResponse mergeOrder(Order order, OrderCreateRequest req, LocalDateTime now, Prefetched prefetched) {
         order.setCreatedAt(now);
-        order.setMember(member);
+        Map<Long, OrderItem> existing = itemsByProduct(order);
+
+        Map<Long, Product> products = findProducts(req, prefetched.products());
+        orderRecommendService.record(order, existing.keySet(), products.keySet());
 
         req.items().forEach(it -> {
-            Product product = productRepository.findById(it.productId())
-                    .orElseThrow(() -> new NoSuchElementException("상품을 찾을 수 없습니다: " + it.productId()));
-            OrderItem item = new OrderItem();
-            item.setProduct(product);
-            item.setQuantity(it.quantity());
-            order.addItem(item);
+            OrderItem item = existing.get(it.productId());
+            if (item != null) {
+                item.setQuantity(item.getQuantity() + it.quantity());
+                order.addAmount(item.getUnitPrice(), it.quantity());
+                return;
+            }
+
+            OrderItem newItem = new OrderItem();
+            newItem.setProduct(products.get(it.productId()));
+            newItem.setQuantity(it.quantity());
+            order.addItem(newItem);
+            order.addAmount(newItem.getUnitPrice(), it.quantity());
         });
+        decreaseStock(req);
+        applyPromotions(order, now);
+        encodeItems(order);
 
-        return order;
+        return orderRepository.save(order).toDto();
     }
 
-    // 비회원 주문 생성
-    private GuestOrder buildGuestOrder(OrderCreateRequest req, LocalDateTime now) {
-        GuestOrder guestOrder = new GuestOrder();
-        guestOrder.setStatus("배송준비중");
-        guestOrder.setCreatedAt(now);
-        guestOrder.setEmail(req.email());
-        guestOrder.setAddress(req.address());
-        guestOrder.setPostalCode(req.postalCode());
-
+    // 주문 상품을 한 번의 IN 쿼리로 읽는다 (items 는 coalesce 로 상품 id 가 중복되지 않는다)
+    // 미리 읽어 둔 상품(known) 은 다시 읽지 않는다
+    private Map<Long, Product> findProducts(OrderCreateRequest req, Map<Long, Product> known) {
+        Map<Long, Product> products = new HashMap<>();
+        List<Long> unknown = new ArrayList<>();
         req.items().forEach(it -> {
-            Product product = productRepository.findById(it.productId())
-                    .orElseThrow(() -> new NoSuchElementException("상품을 찾을 수 없습니다: " + it.productId()));
-            GuestOrderItem item = new GuestOrderItem();
-            item.setProduct(product);
-            item.setQuantity(it.quantity());
-            guestOrder.addItem(item);
+            Product product = known.get(it.productId());
+            if (product != null) products.put(product.getId(), product);
+            else unknown.add(it.productId());
         });
 
-        return guestOrder;
+        if (!unknown.isEmpty()) {
+            productRepository.findAllById(unknown).forEach(product -> products.put(product.getId(), product));
+        }
+
+        unknown.stream()
+                .filter(id -> !products.containsKey(id))
+                .findFirst()
+                .ifPresent(id -> {
+                    throw new ServiceException("404-1", "상품을 찾을 수 없습니다: " + id);
+                });
+
+        return products;
     }
 
-    // 회원 주문 병합
-    private OrderResponse mergeMemberOrder(Order order, OrderCreateRequest req, LocalDateTime now) {
-        order.setCreatedAt(now);
-        req.items().forEach(it -> {
-            Product product = productRepository.findById(it.productId())
-                    .orElseThrow(() -> new NoSuchElementException("상품을 찾을 수 없습니다: " + it.productId()));
-
-            // 같은 상품이 있으면 수량만 증가
-            order.getOrderItems().stream()
-                    .filter(oi -> oi.getProduct().getId().equals(product.getId()))
-                    .findFirst()
-                    .ifPresentOrElse(
-                            oi -> oi.setQuantity(oi.getQuantity() + it.quantity()),
-                            () -> {
-                                OrderItem newItem = new OrderItem();
-                                newItem.setProduct(product);
-                                newItem.setQuantity(it.quantity());
-                                order.addItem(newItem);
-                            }
-                    );
-        });
+    // 상품 id → 주문 상품, 상품이 삭제된 예전 주문 상품은 병합/수정 대상이 아니다
+    private Map<Long, OrderItem> itemsByProduct(Order order) {
+        return order.getOrderItems().stream()
+                .filter(oi -> oi.getProduct() != null)
+                .collect(Collectors.toMap(oi -> oi.getProduct().getId(), Function.identity()));
+    }
+
+    // 같은 상품은 수량을 합쳐서 한 줄로 (처음 나온 순서 유지)
+    private OrderCreateRequest coalesce(OrderCreateRequest req) {
+        if (req.items().size() > OrderCreateRequest.MAX_ITEMS) {
+            throw new ServiceException("400-2", "한 번에 주문할 수 있는 상품은 %d개까지입니다.".formatted(OrderCreateRequest.MAX_ITEMS));
+        }
+
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        req.items().forEach(it -> quantities.merge(it.productId(), it.quantity(), Integer::sum));
+        if (quantities.size() == req.items().size()) return req;
 
-        return orderRepository.save(order)
-                .toDto(req.email(), req.address(), req.postalCode());
+        return req.withItems(quantities.entrySet().stream()
+                .map(e -> new OrderCreateRequest.Item(e.getKey(), e.getValue()))
+                .toList());
     }
 
-    // 비회원 주문 병합
-    private OrderResponse mergeGuestOrder(GuestOrder order, OrderCreateRequest req, LocalDateTime now) {
-        order.setCreatedAt(now);
-        req.items().forEach(it -> {
-            Product product = productRepository.findById(it.productId())
-                    .orElseThrow(() -> new NoSuchElementException("상품을 찾을 수 없습니다: " + it.productId()));
-
-            // 같은 상품이 있으면 수량만 증가
-            order.getItems().stream()
-                    .filter(gi -> gi.getProduct().getId().equals(product.getId()))
-                    .findFirst()
-                    .ifPresentOrElse(
-                            gi -> gi.setQuantity(gi.getQuantity() + it.quantity()),
-                            () -> {
-                                GuestOrderItem newItem = new GuestOrderItem();
-                                newItem.setProduct(product);
-                                newItem.setQuantity(it.quantity());
-                                order.addItem(newItem);
-                            }
-                    );
-        });
+    // 재고 차감 - 조건부 UPDATE 라 재고를 읽고 잠그지 않고, 행 잠금은 UPDATE 하는 순간에만 잡힌다
+    // 하나라도 부족하면 예외 → 트랜잭션 롤백으로 주문 전체가 취소된다
+    private void decreaseStock(OrderCreateRequest req) {
+        // 장바구니 주문은 담을 때 이미 재고가 홀드(차감)되었다
+        if (req.cartId() != null) return;
+
+        // 상품 id 순서로 차감해서 주문끼리 교착되지 않도록 한다
+        Map<Long, Integer> quantities = new TreeMap<>();
+        req.items().forEach(it -> quantities.put(it.productId(), it.quantity()));
 
-        return guestOrderRepository.save(order).toDto();
+        quantities.forEach((productId, quantity) -> {
+            if (!productService.decreaseStock(productId, quantity)) {
+                throw new ServiceException("409-1", "재고가 부족합니다: " + productId);
+            }
+        });
     }
 
 
     /////////////////////////ordarInitData 테스트용/////////////////////////////////////
     //시간 직접 설정
     public OrderResponse createOrder(OrderCreateRequest req, String apiKey, LocalDateTime now) {
+        validate(req);
+
+        // 1. 주문 창 선점 - 없으면 빈 주문을 먼저 커밋해서 (주문자, 창) unique 키를 잡는다
+        WindowOrder window = claimWindow(req, apiKey, now);
+
+        // 2. 선점한 주문을 잠그고 상품 추가, 같은 창의 동시 주문은 여기서 차례로 병합된다
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        try {
+            return tx.execute(status -> placeOrder(window, req, now, Prefetched.NONE));
+        } catch (RuntimeException e) {
+            // 새로 만든 빈 주문은 지운다 (그 사이 다른 요청이 상품을 담았으면 남는다)
+            if (window.created()) releaseWindow(window);
+            throw e;
+        }
+    }
+
+    // DB 를 보지 않고 알 수 있는 요청 오류
+    void validate(OrderCreateRequest req) {
+        if (req.cartId() == null && (req.items() == null || req.items().isEmpty())) {
+            throw new ServiceException("400-1", "주문할 상품이 없습니다.");
+        }
+        if (req.items() != null && req.items().size() > OrderCreateRequest.MAX_ITEMS) {
+            throw new ServiceException("400-2", "한 번에 주문할 수 있는 상품은 %d개까지입니다.".formatted(OrderCreateRequest.MAX_ITEMS));
+        }
+    }
+
+    /**
+     * 호출한 쪽 트랜잭션 안에서 여러 주문을 차례로 처리 (OrderBatchWriter 용)
+     * 회원은 이메일로, 상품은 id 로 한 번에 읽어 둔다.
+     * 주문마다 세이브포인트(NESTED) 안에서 처리해서, 재고 부족 같은 요청 오류(ServiceException) 는 그 주문만 되돌리고 실패로 남긴다.
+     * 주문마다 커밋 후 작업(주문 창 등록, 재고 인덱스 반영 등) 을 모아 두었다가 세이브포인트가 끝나야 트랜잭션에 등록하므로
+     * 되돌린 주문의 작업은 실행되지 않는다.
+     * 그 밖의 오류(창 선점 충돌 등 DB 예외) 는 트랜잭션 전체가 실패하므로, createOrder 로 하나씩 다시 처리해야 한다.
+     */
+    List<OrderBatchWriter.Outcome> createOrdersInTransaction(List<OrderBatchWriter.Pending> pendings) {
+        pendings.forEach(pending -> validate(pending.req()));
+
+        Prefetched prefetched = prefetch(pendings);
+
+        TransactionTemplate savepoint = new TransactionTemplate(transactionManager);
+        savepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+
+        List<OrderBatchWriter.Outcome> outcomes = new ArrayList<>(pendings.size());
+        for (OrderBatchWriter.Pending pending : pendings) {
+            OrderBatchWriter.Outcome outcome = placeOrderInSavepoint(savepoint, pending, prefetched);
+            if (!outcome.isSuccess()) {
+                // DB 는 세이브포인트로 돌아갔지만 영속성 컨텍스트에는 되돌린 주문이 남아 있으므로 비운다
+                // (앞 주문들은 이미 flush 되어 있다), 미리 읽어 둔 회원/상품도 같이 분리되므로 다시 읽는다
+                em.clear();
+                prefetched = prefetch(pendings);
+            }
+            outcomes.add(outcome);
+        }
+
+        return outcomes;
+    }
+
+    private Prefetched prefetch(List<OrderBatchWriter.Pending> pendings) {
+        Set<String> emails = pendings.stream()
+                .filter(pending -> pending.apiKey() == null || pending.apiKey().isBlank())
+                .map(pending -> pending.req().email())
+                .collect(Collectors.toSet());
+        Map<String, Member> members = emails.isEmpty() ? Map.of() : memberRepository.findByEmailIn(emails).stream()
+                .collect(Collectors.toMap(Member::getEmail, Function.identity()));
+
+        Set<Long> productIds = pendings.stream()
+                .filter(pending -> pending.req().cartId() == null)
+                .flatMap(pending -> pending.req().items().stream())
+                .map(OrderCreateRequest.Item::productId)
+                .collect(Collectors.toSet());
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        return new Prefetched(emails, members, products);
+    }
+
+    private OrderBatchWriter.Outcome placeOrderInSavepoint(TransactionTemplate savepoint, OrderBatchWriter.Pending pending, Prefetched prefetched) {
+        try {
+            return new OrderBatchWriter.Outcome(AfterCommit.deferred(() -> savepoint.execute(status -> {
+                OrderResponse response = placeOrder(
+                        findOrCreateWindowOrder(pending.req(), pending.apiKey(), pending.now(), prefetched),
+                        pending.req(),
+                        pending.now(),
+                        prefetched
+                );
+                // 세이브포인트 안에서 써야 실패했을 때 이 주문만 되돌릴 수 있다
+                em.flush();
+                return response;
+            })), null, null);
+        } catch (ServiceException e) {
+            return new OrderBatchWriter.Outcome(null, e.getResultCode(), e.getMsg());
+        }
+    }
+
+    /**
+     * 여러 주문을 한 트랜잭션에서 처리할 때 미리 읽어 둔 회원/상품
+     *
+     * @param emails   회원 조회를 끝낸 이메일 (members 에 없으면 비회원)
+     * @param members  이메일 → 회원
+     * @param products 상품 id → 상품
+     */
+    private record Prefetched(Set<String> emails, Map<String, Member> members, Map<Long, Product> products) {
+        static final Prefetched NONE = new Prefetched(Set.of(), Map.of(), Map.of());
+
+        Optional<Member> member(String email, MemberRepository memberRepository) {
+            return emails.contains(email)
+                    ? Optional.ofNullable(members.get(email))
+                    : memberRepository.findByEmail(email);
+        }
+    }
+
+    /**
+     * 선점된 주문 창
+     *
+     * @param created 이번 요청이 새로 만든 주문인지
+     */
+    private record WindowOrder(Long orderId, int windowId, boolean created) {
+    }
+
+    private WindowOrder claimWindow(OrderCreateRequest req, String apiKey, LocalDateTime now) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        try {
+            return tx.execute(status -> findOrCreateWindowOrder(req, apiKey, now, Prefetched.NONE));
+        } catch (DataIntegrityViolationException e) {
+            // 같은 창의 주문을 다른 요청이 먼저 만들었다 → 그 주문을 사용
+            return tx.execute(status -> findOrCreateWindowOrder(req, apiKey, now, Prefetched.NONE));
+        }
+    }
+
+    private WindowOrder findOrCreateWindowOrder(OrderCreateRequest req, String apiKey, LocalDateTime now, Prefetched prefetched) {
+        int windowId = OrderWindowRegistry.windowId(now);
+
+        Member loggedIn = apiKey != null && !apiKey.isBlank() ? findLoggedInMember(req.email(), apiKey) : null;
 
-        // 전날 14:00 ~ 오늘 14:00 or 오늘 14:00 ~ 다음날 14:00
-        LocalDateTime start = now.toLocalTime().isBefore(LocalTime.of(14, 0))
-                ? now.toLocalDate().minusDays(1).atTime(14, 0)
-                : now.toLocalDate().atTime(14, 0);
+        Optional<Long> orderId = orderWindowRegistry.findOrder(req.email(), windowId)
+                .or(() -> orderRepository.findByEmailAndWindowId(req.email(), windowId).map(Order::getId));
+        if (orderId.isPresent()) {
+            return new WindowOrder(orderId.get(), windowId, false);
+        }
+
+        // 로그아웃 상태 - 회원 이메일이면 회원 주문, 아니면 비회원 주문
+        Member member = loggedIn != null ? loggedIn : prefetched.member(req.email(), memberRepository).orElse(null);
+
+        Order order = new Order();
+        order.setStatus("배송준비중");
+        order.setCreatedAt(now);
+        order.setMember(member);
+        order.setEmail(req.email());
+        order.setAddress(req.address());
+        order.setPostalCode(req.postalCode());
+        order.setDeliveryFee(deliveryZoneRegistry.fee(req.postalCode()));
+        order.setWindowId(windowId);
+        orderRepository.saveAndFlush(order);
+
+        return new WindowOrder(order.getId(), windowId, true);
+    }
+
+    private OrderResponse placeOrder(WindowOrder window, OrderCreateRequest req, LocalDateTime now, Prefetched prefetched) {
+        OrderCreateRequest items = coalesce(resolveItems(req));
+
+        Order order = orderRepository.findWithLockById(window.orderId())
+                .filter(o -> !o.isCanceled())
+                .orElseThrow(this::windowClosed);
+        orderWindowRegistry.registerOrder(req.email(), window.windowId(), order.getId());
+        return mergeOrder(order, items, now, prefetched);
+    }
+
+    // 장바구니 주문이면 홀드된 상품으로 교체 (롤백되면 장바구니가 다시 열린다)
+    private OrderCreateRequest resolveItems(OrderCreateRequest req) {
+        if (req.cartId() == null) return req;
+
+        List<OrderCreateRequest.Item> items = cartService.checkout(req.cartId()).stream()
+                .map(item -> new OrderCreateRequest.Item(item.productId(), item.quantity()))
+                .toList();
+        if (items.isEmpty()) {
+            throw new ServiceException("400-1", "주문할 상품이 없습니다.");
+        }
+        return req.withItems(items);
+    }
 
-        LocalDateTime end = start.plusDays(1);
+    // 다른 요청이 선점한 빈 주문이 그 요청의 실패로 지워졌거나 그 사이 취소된 경우 (드묾) - 다시 주문하면 된다
+    private ServiceException windowClosed() {
+        return new ServiceException("409-2", "동시에 처리 중인 주문이 있습니다. 다시 시도해 주세요.");
+    }
+
+    private void releaseWindow(WindowOrder window) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        tx.executeWithoutResult(status -> orderRepository.deleteIfEmpty(window.orderId()));
+    }
+
+    public OrderResponse modifyOrder(Long orderId, OrderModifyRequest req, String apiKey) {
+        return modifyOrder(orderId, req, apiKey, LocalDateTime.now());
+    }
+
+    /**
+     * 주문 수량 변경 (14:00 마감 전까지)
+     * 줄어든 만큼 재고를 돌려주고 늘어난 만큼 차감한다. 상품이 모두 빠지면 주문을 취소한다.
+     */
+    public OrderResponse modifyOrder(Long orderId, OrderModifyRequest req, String apiKey, LocalDateTime now) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        req.items().forEach(it -> quantities.put(it.productId(), it.quantity()));
+
+        return retryOnConflict(status -> {
+            Order order = findModifiableOrder(orderId, req.email(), apiKey, now);
+            Map<Long, Integer> deltas = modifyOrder(order, quantities, now);
+            OrderResponse response = orderRepository.saveAndFlush(order).toDto();
+            changeStock(deltas);
+            return response;
+        });
+    }
+
+    public OrderResponse cancelOrder(Long orderId, String email, String apiKey) {
+        return cancelOrder(orderId, email, apiKey, LocalDateTime.now());
+    }
+
+    /**
+     * 주문 취소 (14:00 마감 전까지)
+     * 재고를 모두 돌려주고 주문 창을 비운다. 같은 창에 다시 주문하면 새 주문이 만들어진다.
+     * 주문 상품은 내역으로 남긴다.
+     */
+    public OrderResponse cancelOrder(Long orderId, String email, String apiKey, LocalDateTime now) {
+        return retryOnConflict(status -> {
+            Order order = findModifiableOrder(orderId, email, apiKey, now);
+            Map<Long, Integer> deltas = cancelOrder(order);
+            OrderResponse response = orderRepository.saveAndFlush(order).toDto();
+            changeStock(deltas);
+            return response;
+        });
+    }
 
-        if (apiKey != null && !apiKey.isBlank()) {
-            // 로그인 상태 - 회원 주문
-            Member member = memberRepository.findByApiKey(apiKey)
-                    .orElseThrow(() -> new ServiceException("401-1", "유효하지 않은 API Key입니다."));
+    // 잠그지 않고 읽은 주문을 그 사이 다른 요청이 바꿨으면 (버전 불일치) 처음부터 다시 처리
+    private OrderResponse retryOnConflict(TransactionCallback<OrderResponse> action) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
 
-            if (!member.getEmail().equals(req.email())) {
-                throw new ServiceException("403-1", "요청한 이메일과 로그인된 회원의 이메일이 일치하지 않습니다.");
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return tx.execute(action);
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= MAX_CONFLICT_ATTEMPTS) {
+                    throw new ServiceException("409-5", "다른 요청과 동시에 변경되었습니다. 다시 시도해 주세요.");
+                }
             }
+        }
+    }
+
+    // 로그인한 회원 - 요청한 이메일이 회원 이메일이어야 한다
+    private Member findLoggedInMember(String email, String apiKey) {
+        Member member = memberRepository.findByApiKey(apiKey)
+                .orElseThrow(() -> new ServiceException("401-1", "유효하지 않은 API Key입니다."));
+        if (!member.getEmail().equals(email)) {
+            throw new ServiceException("403-1", "요청한 이메일과 로그인된 회원의 이메일이 일치하지 않습니다.");
+        }
+        return member;
+    }
+
+    // 주문자 이메일로 본인 주문인지 확인 (로그인했으면 로그인한 회원의 이메일이어야 한다)
+    private Order findModifiableOrder(Long orderId, String email, String apiKey, LocalDateTime now) {
+        if (apiKey != null && !apiKey.isBlank()) findLoggedInMember(email, apiKey);
 
-            // 기존 주문 있으면 병합, 없으면 새 주문
-            return orderRepository.findByMemberAndCreatedAtBetween(member, start, end)
-                    .map(order -> mergeMemberOrder(order, req, now))
-                    .orElseGet(() -> {
-                        Order newOrder = buildMemberOrder(member, req, now);
-                        return orderRepository.save(newOrder)
-                                .toDto(req.email(), req.address(), req.postalCode());
-                    });
-
-        } else {
-            // 로그아웃 상태 - 회원 이메일인지 확인
-            return memberRepository.findByEmail(req.email())
-                    .map(member -> orderRepository.findByMemberAndCreatedAtBetween(member, start, end)
-                            .map(order -> mergeMemberOrder(order, req, now))
-                            .orElseGet(() -> {
-                                Order newOrder = buildMemberOrder(member, req, now);
-                                return orderRepository.save(newOrder)
-                                        .toDto(req.email(), req.address(), req.postalCode());
-                            })
-                    )
-                    .orElseGet(() -> guestOrderRepository.findByEmailAndCreatedAtBetween(req.email(), start, end)
-                            .map(order -> mergeGuestOrder(order, req, now))
-                            .orElseGet(() -> {
-                                GuestOrder newOrder = buildGuestOrder(req, now);
-                                return guestOrderRepository.save(newOrder).toDto();
-                            })
-                    );
+        Order order = orderRepository.findById(orderId)
+                .filter(o -> email.equals(o.getEmail()))
+                .orElseThrow(this::orderNotFound);
+        if (order.isCanceled()) {
+            throw new ServiceException("409-4", "이미 취소된 주문입니다.");
         }
+        if (order.getWindowId() == null || order.getWindowId() != OrderWindowRegistry.windowId(now)) {
+            throw new ServiceException("409-3", "마감(14:00)된 주문은 변경할 수 없습니다.");
+        }
+        return order;
+    }
+
+    private ServiceException orderNotFound() {
+        return new ServiceException("404-2", "주문을 찾을 수 없습니다.");
+    }
+
+    // 주문 수량을 바꾸고 상품별 주문 수량 증감을 돌려준다
+    private Map<Long, Integer> modifyOrder(Order order, Map<Long, Integer> quantities, LocalDateTime now) {
+        Map<Long, OrderItem> lines = itemsByProduct(order);
+        Map<Long, Integer> deltas = new HashMap<>();
+
+        quantities.forEach((productId, quantity) -> {
+            OrderItem item = lines.get(productId);
+            if (item == null) throw notInOrder(productId);
+
+            int delta = quantity - item.getQuantity();
+            deltas.put(productId, delta);
+            order.addAmount(item.getUnitPrice(), delta);
+            if (quantity == 0) order.removeItem(item);
+            else item.setQuantity(quantity);
+        });
+
+        if (order.getOrderItems().isEmpty()) cancelOrder(order);
+        applyPromotions(order, now);
+        encodeItems(order);
+        return deltas;
+    }
+
+    /**
+     * 주문 전체의 할인 금액을 다시 계산 (2+1 처럼 병합/수정된 수량에 걸리는 할인이 있다)
+     * 원산지 할인을 위해 주문 상품의 상품을 보는데, 아직 읽지 않은 상품은 IN 쿼리 한 번으로 읽어 둔다.
+     */
+    private void applyPromotions(Order order, LocalDateTime now) {
+        List<Long> unloaded = order.getOrderItems().stream()
+                .map(OrderItem::getProduct)
+                .filter(product -> product != null && !Hibernate.isInitialized(product))
+                .map(Product::getId)
+                .toList();
+        if (!unloaded.isEmpty()) productRepository.findAllById(unloaded);
+
+        List<PromotionRules.Line> lines = order.getOrderItems().stream()
+                .filter(oi -> oi.getProduct() != null && oi.getUnitPrice() != null)
+                .map(oi -> new PromotionRules.Line(
+                        oi.getProduct().getId(),
+                        oi.getProduct().getProductOrigin(),
+                        oi.getUnitPrice(),
+                        oi.getQuantity()
+                ))
+                .toList();
+        order.setDiscountAmount(promotionEngine.discount(lines, now));
+    }
+
+    // rows 모드면 비워서, 모드를 바꿨다가 되돌려도 오래된 값이 읽히지 않도록 한다
+    private void encodeItems(Order order) {
+        order.setEncodedItems("embedded".equalsIgnoreCase(itemStorage)
+                ? OrderLine.encode(order.getOrderItems().stream().map(OrderItem::toLine).toList())
+                : null);
+    }
+
+    // 주문 상품은 남기고, 돌려줄 수량을 돌려준다
+    private Map<Long, Integer> cancelOrder(Order order) {
+        order.setStatus(Order.STATUS_CANCELED);
+        order.setWindowId(null);
+        orderWindowRegistry.unregisterOrder(order.getEmail(), order.getId());
+
+        return order.getOrderItems().stream()
+                .filter(oi -> oi.getProduct() != null)
+                .collect(Collectors.toMap(oi -> oi.getProduct().getId(), oi -> -oi.getQuantity()));
+    }
+
+    /**
+     * 주문 수량 증감을 재고에 반영 - 늘어난 수량은 차감 (부족하면 409-1), 줄어든 수량은 복구
+     * 주문 행을 먼저 갱신(flush) 한 뒤 호출해서, 병합과 같은 순서(주문 → 상품 id 순)로 잠근다
+     */
+    private void changeStock(Map<Long, Integer> deltas) {
+        new TreeMap<>(deltas).forEach((productId, delta) -> {
+            if (delta > 0 && !productService.decreaseStock(productId, delta)) {
+                throw new ServiceException("409-1", "재고가 부족합니다: " + productId);
+            }
+            if (delta < 0) productService.increaseStock(productId, -delta);
+        });
+    }
+
+    private ServiceException notInOrder(Long productId) {
+        return new ServiceException("400-3", "주문에 없는 상품입니다: " + productId);
     }
 
-}
\ No newline at end of file
+}
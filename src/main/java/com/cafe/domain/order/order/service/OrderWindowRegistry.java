@@ -0,0 +1,102 @@
+package com.cafe.domain.order.order.service;
+
+import com.cafe.domain.order.order.repository.OrderRepository;
+import com.cafe.global.transaction.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 현재 열려 있는 주문 창(14:00 ~ 다음날 14:00) 의 주문 id
+ * 주문자 이메일로 찾는다. 같은 창에서 다시 주문하면 DB 조회 없이 병합할 주문 id 를 얻는다.
+ * 등록은 커밋 후에, 만료는 14:00 마다 한다. 없으면 (주문자, windowId) 로 조회해야 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderWindowRegistry {
+
+    private static final LocalTime CUTOFF = LocalTime.of(14, 0);
+
+    private final OrderRepository orderRepository;
+
+    private record Entry(int windowId, Long orderId) {
+    }
+
+    private final Map<String, Entry> orders = new ConcurrentHashMap<>();
+
+    // 전날 14:00 ~ 오늘 14:00 or 오늘 14:00 ~ 다음날 14:00
+    public static LocalDateTime windowStart(LocalDateTime now) {
+        return now.toLocalTime().isBefore(CUTOFF)
+                ? now.toLocalDate().minusDays(1).atTime(CUTOFF)
+                : now.toLocalDate().atTime(CUTOFF);
+    }
+
+    // 주문 창 번호 - 창이 시작된 날의 epoch day
+    public static int windowId(LocalDateTime now) {
+        return (int) windowStart(now).toLocalDate().toEpochDay();
+    }
+
+    public Optional<Long> findOrder(String email, int windowId) {
+        return find(orders.get(email), windowId);
+    }
+
+    public void registerOrder(String email, int windowId, Long orderId) {
+        afterCommit(() -> orders.put(email, new Entry(windowId, orderId)));
+    }
+
+    // 취소된 주문 - 다음 주문은 새 주문으로 만들어진다
+    public void unregisterOrder(String email, Long orderId) {
+        afterCommit(() -> orders.computeIfPresent(email, (key, entry) -> entry.orderId().equals(orderId) ? null : entry));
+    }
+
+    // 기동 시 현재 창의 주문을 DB 에서 읽어 온다
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        int windowId = windowId(LocalDateTime.now());
+
+        orderRepository.findOpenWindowOrders(windowId).forEach(row ->
+                orders.put((String) row[1], new Entry(windowId, (Long) row[0]))
+        );
+    }
+
+    // 14:00 마감 - 지난 창의 주문을 비운다
+    @Scheduled(cron = "0 0 14 * * *")
+    public void evictClosedWindows() {
+        int windowId = windowId(LocalDateTime.now());
+
+        orders.values().removeIf(entry -> entry.windowId() < windowId);
+    }
+
+    private Optional<Long> find(Entry entry, int windowId) {
+        if (entry == null || entry.windowId() != windowId) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.orderId());
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            AfterCommit.register(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+            return;
+        }
+
+        task.run();
+    }
+}
@@ -0,0 +1,51 @@
+package com.cafe.domain.order.recommend.controller;
+
+import com.cafe.domain.order.recommend.service.OrderRecommendService;
+import com.cafe.domain.product.product.dto.ProductDto;
+import com.cafe.global.rsData.RsData;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/${app.api-version}")
+public class OrderRecommendController {
+
+    private final OrderRecommendService orderRecommendService;
+
+    public record RecommendResBody(
+            List<ProductDto> products
+    ) {}
+
+    // 이 상품과 함께 주문한 상품
+    @GetMapping("/order/recommend/{productId}")
+    public RsData<RecommendResBody> getRecommendations(
+            @PathVariable Long productId,
+            @RequestParam(defaultValue = "5") @Min(1) @Max(20) int limit
+    ) {
+        List<ProductDto> products = orderRecommendService.recommend(productId, limit).stream()
+                .map(ProductDto::new)
+                .toList();
+
+        return new RsData<>(
+                "200-1",
+                "추천 상품 조회 성공",
+                new RecommendResBody(products)
+        );
+    }
+
+    // 주문 이력으로 추천 행렬 다시 만들기 (백그라운드)
+    @PostMapping("/admin/order/recommend/rebuild")
+    public RsData<Void> rebuild() {
+        orderRecommendService.rebuild();
+
+        return new RsData<>(
+                "202-1",
+                "추천 데이터 재생성을 시작했습니다."
+        );
+    }
+}
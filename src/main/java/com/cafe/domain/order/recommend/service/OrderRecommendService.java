@@ -0,0 +1,164 @@
+package com.cafe.domain.order.recommend.service;
+
+import com.cafe.domain.order.order.entity.Order;
+import com.cafe.domain.order.order.repository.OrderRepository;
+import com.cafe.domain.product.product.entity.Product;
+import com.cafe.domain.product.product.repository.ProductRepository;
+import com.cafe.global.transaction.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 함께 주문한 상품 추천
+ * 주문이 생성/병합될 때마다 동시 주문 행렬을 갱신하고, 기동 시에는 주문 이력으로 다시 만든다.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderRecommendService {
+
+    @Autowired
+    @Lazy
+    private OrderRecommendService self;
+
+    private final OrderRepository orderRepository;
+    private final ProductRepository productRepository;
+
+    private volatile ProductCoOccurrenceMatrix matrix = new ProductCoOccurrenceMatrix();
+
+    // 재생성 중 주문 반영을 기록할 주문: 재생성 시작 이 시간 전부터 주문/병합된 주문 (늦게 커밋되는 트랜잭션 여유)
+    private static final Duration TRACK_SLACK = Duration.ofHours(1);
+
+    // 재생성 중 커밋된 주문 (새 행렬에 아직 없는 것만 교체 직전에 다시 반영)
+    private final Object rebuildLock = new Object();
+    private List<Recorded> pending;
+
+    /**
+     * @param version 커밋된 주문 버전 (병합할 때마다 올라간다)
+     */
+    private record Recorded(Long orderId, Long version, Set<Long> existing, List<Long> added) {}
+
+    /**
+     * 주문 반영 (커밋된 후)
+     *
+     * @param order    상품이 담긴 주문
+     * @param existing 주문에 원래 있던 상품 id
+     * @param added    이번에 담긴 상품 id
+     */
+    public void record(Order order, Set<Long> existing, Collection<Long> added) {
+        Set<Long> existingCopy = Set.copyOf(existing);
+        List<Long> addedCopy = List.copyOf(added);
+
+        // 버전은 flush 때 올라가므로 커밋된 뒤에 읽는다
+        AfterCommit.run(() -> apply(new Recorded(order.getId(), order.getVersion(), existingCopy, addedCopy)));
+    }
+
+    // 함께 주문된 횟수 순 추천 상품 (비활성 상품 제외)
+    @Transactional(readOnly = true)
+    public List<Product> recommend(Long productId, int limit) {
+        long[] top = matrix.top(productId, ProductCoOccurrenceMatrix.MAX_K);
+        if (top.length == 0) return List.of();
+
+        List<Long> ids = Arrays.stream(top).boxed().toList();
+        Map<Long, Product> products = productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        return ids.stream()
+                .map(products::get)
+                .filter(product -> product != null && product.isUseYn())
+                .limit(limit)
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        self.rebuild();
+    }
+
+    /**
+     * 주문 이력으로 행렬 재생성
+     * 새 행렬을 따로 만든 뒤 교체한다.
+     * 조회 전에 pending 을 열어 두므로 조회와 겹쳐 커밋된 주문도 빠지지 않는다.
+     * 대신 조회 결과에 이미 들어 있을 수 있어서, 최근 주문은 조회된 버전을 기억해 두었다가
+     * pending 중 그 버전 이하(조회에 반영된 병합)는 건너뛴다.
+     */
+    @Async
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        ProductCoOccurrenceMatrix next = new ProductCoOccurrenceMatrix();
+        LocalDateTime trackFrom = LocalDateTime.now().minus(TRACK_SLACK);
+        Map<Long, Long> loadedVersions = new HashMap<>();
+
+        synchronized (rebuildLock) {
+            pending = new ArrayList<>();
+        }
+
+        try (Stream<Object[]> rows = orderRepository.streamOrderProductPairs()) {
+            load(next, rows, trackFrom, loadedVersions);
+        } catch (RuntimeException e) {
+            synchronized (rebuildLock) {
+                pending = null;
+            }
+            throw e;
+        }
+
+        synchronized (rebuildLock) {
+            pending.stream()
+                    .filter(recorded -> recorded.version() > loadedVersions.getOrDefault(recorded.orderId(), -1L))
+                    .forEach(recorded -> next.record(recorded.existing(), recorded.added()));
+            pending = null;
+            matrix = next;
+        }
+    }
+
+    private void apply(Recorded recorded) {
+        synchronized (rebuildLock) {
+            matrix.record(recorded.existing(), recorded.added());
+
+            if (pending != null) {
+                pending.add(recorded);
+            }
+        }
+    }
+
+    /**
+     * (주문 id, 주문 버전, 주문 시각, 상품 id) 를 주문 id 순으로 읽어 주문 단위로 묶는다
+     * trackFrom 이후 주문/병합된 주문의 버전은 loadedVersions 에 남긴다.
+     */
+    private void load(ProductCoOccurrenceMatrix target, Stream<Object[]> rows,
+                      LocalDateTime trackFrom, Map<Long, Long> loadedVersions) {
+        Long[] currentOrder = {null};
+        List<Long> products = new ArrayList<>();
+
+        rows.forEach(row -> {
+            Long orderId = (Long) row[0];
+            Long productId = (Long) row[3];
+
+            if (!orderId.equals(currentOrder[0])) {
+                target.record(Set.of(), products);
+                products.clear();
+                currentOrder[0] = orderId;
+
+                LocalDateTime createdAt = (LocalDateTime) row[2];
+                if (createdAt != null && !createdAt.isBefore(trackFrom)) {
+                    loadedVersions.put(orderId, (Long) row[1]);
+                }
+            }
+            products.add(productId);
+        });
+
+        target.record(Set.of(), products);
+    }
+}
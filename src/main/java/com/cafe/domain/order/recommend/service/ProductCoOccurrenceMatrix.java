@@ -0,0 +1,112 @@
+package com.cafe.domain.order.recommend.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 상품 동시 주문 횟수 희소 행렬
+ * 상품 id 마다 (함께 주문된 상품 id → 횟수) 를 long[]/int[] 오픈 어드레싱 테이블로 들고 있는다.
+ * 상위 MAX_K 개는 행이 바뀔 때까지 캐시해 둔다.
+ */
+class ProductCoOccurrenceMatrix {
+
+    static final int MAX_K = 20;
+
+    private final ConcurrentHashMap<Long, Row> rows = new ConcurrentHashMap<>();
+
+    // 한 주문에 원래 있던 상품(existing)과 새로 담긴 상품(added) 사이의 쌍을 센다
+    void record(Collection<Long> existing, Collection<Long> added) {
+        Long[] news = added.stream().distinct().filter(id -> !existing.contains(id)).toArray(Long[]::new);
+
+        for (int i = 0; i < news.length; i++) {
+            for (Long old : existing) {
+                increment(news[i], old);
+            }
+            for (int j = i + 1; j < news.length; j++) {
+                increment(news[i], news[j]);
+            }
+        }
+    }
+
+    // 함께 주문된 횟수 순 상위 k 개 상품 id
+    long[] top(long productId, int k) {
+        Row row = rows.get(productId);
+        if (row == null) return new long[0];
+
+        long[] top = row.top();
+        return top.length <= k ? top : Arrays.copyOf(top, k);
+    }
+
+    private void increment(long a, long b) {
+        if (a == b) return;
+        rows.computeIfAbsent(a, key -> new Row()).add(b);
+        rows.computeIfAbsent(b, key -> new Row()).add(a);
+    }
+
+    private static final class Row {
+        private long[] keys = new long[8];  // 0 은 빈 칸 (상품 id 는 1부터)
+        private int[] counts = new int[8];
+        private int size;
+        private long[] top;                 // null 이면 다시 계산
+
+        synchronized void add(long key) {
+            if ((size + 1) * 4 > keys.length * 3) grow();
+
+            int slot = slot(keys, key);
+            if (keys[slot] == 0) {
+                keys[slot] = key;
+                size++;
+            }
+            counts[slot]++;
+            top = null;
+        }
+
+        synchronized long[] top() {
+            if (top != null) return top;
+
+            int[] slots = new int[size];
+            int n = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0) slots[n++] = i;
+            }
+
+            // 횟수 내림차순, 같으면 상품 id 오름차순
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) order[i] = slots[i];
+            Arrays.sort(order, (x, y) -> counts[x] != counts[y]
+                    ? Integer.compare(counts[y], counts[x])
+                    : Long.compare(keys[x], keys[y]));
+
+            int k = Math.min(n, MAX_K);
+            long[] result = new long[k];
+            for (int i = 0; i < k; i++) result[i] = keys[order[i]];
+
+            top = result;
+            return top;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldCounts = counts;
+            keys = new long[oldKeys.length * 2];
+            counts = new int[oldKeys.length * 2];
+
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] == 0) continue;
+                int slot = slot(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+
+        private static int slot(long[] keys, long key) {
+            int mask = keys.length - 1;
+            int i = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+    }
+}
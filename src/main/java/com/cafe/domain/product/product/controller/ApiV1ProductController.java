@@ -1,19 +1,39 @@
 package com.cafe.domain.product.product.controller;
 
+import com.cafe.domain.product.product.dto.ProductChangesResBody;
 import com.cafe.domain.product.product.dto.ProductDto;
+import com.cafe.domain.product.product.dto.ProductImportResBody;
+import com.cafe.domain.product.product.dto.ProductPageResBody;
 import com.cafe.domain.product.product.dto.ProductResBody;
+import com.cafe.domain.product.product.dto.ProductSearchResBody;
+import com.cafe.domain.product.product.dto.ProductStockDto;
 import com.cafe.domain.product.product.entity.Product;
+import com.cafe.domain.product.product.service.ProductCatalogCache;
+import com.cafe.domain.product.product.service.ProductImportService;
+import com.cafe.domain.product.product.service.ProductSearchIndex;
 import com.cafe.domain.product.product.service.ProductService;
+import com.cafe.domain.product.product.service.ProductStockEventStream;
 import com.cafe.global.rsData.RsData;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequiredArgsConstructor
@@ -22,26 +42,166 @@ public class ApiV1ProductController {
 
     private final ProductService productService;
     private final StringHttpMessageConverter stringHttpMessageConverter;
+    private final ProductCatalogCache productCatalogCache;
+    private final ProductImportService productImportService;
+    private final ProductStockEventStream productStockEventStream;
 
     // 상품 목록 가져오기 - 사용자
+    // If-None-Match 가 ETag 와 같으면 스프링이 304 로 응답
     @GetMapping("/product/list")
-    @Transactional(readOnly = true)
     @ResponseBody
-    public List<ProductDto> getItems() {
-        return productService.findAll().stream()
-                .filter(Product::isUseYn)
-                .map(ProductDto::new)
-                .toList();
+    public ResponseEntity<byte[]> getItems() {
+        return toResponse(productCatalogCache.active());
     }
 
     // 상품 목록 가져오기 - 관리자
     @GetMapping("/admin/product")
+    @ResponseBody
+    public ResponseEntity<byte[]> getItemsAdmin() {
+        return toResponse(productCatalogCache.all());
+    }
+
+    /**
+     * 상품 목록 페이지 조회 - 사용자
+     * 활성 상품만, id 오름차순. 응답의 nextCursor 를 다음 요청의 cursor 로 넘긴다.
+     *
+     * @param cursor     이전 페이지의 nextCursor
+     * @param origin     원산지
+     * @param minPrice   최소 가격
+     * @param maxPrice   최대 가격
+     * @param namePrefix 상품명 시작 문자열
+     * @param size       페이지 크기
+     * @return
+     */
+    @GetMapping("/product/page")
     @Transactional(readOnly = true)
     @ResponseBody
-    public List<ProductDto> getItemsAdmin() {
-        return productService.findAll().stream()
-                .map(ProductDto::new)
+    public ProductPageResBody getItemPage(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) String origin,
+            @RequestParam(required = false) @Min(0) Integer minPrice,
+            @RequestParam(required = false) @Min(0) Integer maxPrice,
+            @RequestParam(required = false) String namePrefix,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size
+    ) {
+        return productService.findPage(cursor, true, origin, minPrice, maxPrice, namePrefix, size);
+    }
+
+    /**
+     * 상품 목록 페이지 조회 - 관리자
+     * 사용자용과 같고, active 를 생략하면 비활성 상품도 포함한다.
+     *
+     * @param active 노출 여부
+     * @return
+     */
+    @GetMapping("/admin/product/page")
+    @Transactional(readOnly = true)
+    @ResponseBody
+    public ProductPageResBody getItemPageAdmin(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String origin,
+            @RequestParam(required = false) @Min(0) Integer minPrice,
+            @RequestParam(required = false) @Min(0) Integer maxPrice,
+            @RequestParam(required = false) String namePrefix,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size
+    ) {
+        return productService.findPage(cursor, active, origin, minPrice, maxPrice, namePrefix, size);
+    }
+
+    /**
+     * 상품 변경분 조회 (델타 동기화)
+     * 응답의 version 을 다음 요청의 since 로 넘기면 그 사이 생성/수정/활성화 변경된 상품만 받는다.
+     * 비활성화된 상품도 active = false 로 포함된다.
+     *
+     * @param since 마지막으로 받은 카탈로그 버전 (0 이면 전체)
+     * @return
+     */
+    @GetMapping("/product/changes")
+    @Transactional(readOnly = true)
+    @ResponseBody
+    public ProductChangesResBody getChanges(
+            @RequestParam(defaultValue = "0") long since
+    ) {
+        // 조회보다 먼저 버전을 읽어야 그 사이 커밋된 변경을 놓치지 않는다
+        long version = productService.currentCatalogVersion();
+
+        return new ProductChangesResBody(
+                Math.max(version, since),
+                productService.findChangedSince(since).stream()
+                        .map(ProductDto::new)
+                        .toList()
+        );
+    }
+
+    /**
+     * 상품 검색 (자동완성)
+     * 상품명/원산지에 검색어가 포함된 활성 상품을 점수 순으로 돌려준다.
+     *
+     * @param q    검색어
+     * @param page 0부터 시작
+     * @param size 페이지 크기
+     * @return
+     */
+    @GetMapping("/product/search")
+    @Transactional(readOnly = true)
+    @ResponseBody
+    public ProductSearchResBody search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(50) int size
+    ) {
+        ProductSearchIndex.Result result = productService.search(q, true, page, size);
+        List<Long> ids = result.hits().stream()
+                .map(ProductSearchIndex.Hit::id)
                 .toList();
+
+        // 검색 순서대로 다시 정렬
+        Map<Long, Product> products = productService.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        return new ProductSearchResBody(
+                ids.stream()
+                        .map(products::get)
+                        .filter(Objects::nonNull)
+                        .map(ProductDto::new)
+                        .toList(),
+                page,
+                size,
+                result.total()
+        );
+    }
+
+    private ResponseEntity<byte[]> toResponse(ProductCatalogCache.Snapshot snapshot) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(snapshot.etag())
+                .body(snapshot.body());
+    }
+
+    /**
+     * 재고 부족 상품 목록
+     * 재고가 기준치 이하인 상품을 (재고 - 기준치) 오름차순으로 돌려준다. 테이블을 읽지 않는다.
+     *
+     * @param limit
+     * @return
+     */
+    @GetMapping("/admin/product/low-stock")
+    @ResponseBody
+    public RsData<List<ProductStockDto>> getLowStockItems(
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit
+    ) {
+        return new RsData<>(
+                String.valueOf(HttpStatus.OK.value()),
+                "조회되었습니다.",
+                productService.findLowStock(limit)
+        );
+    }
+
+    // 재고 부족/품절/입고 이벤트 구독 (SSE)
+    @GetMapping(value = "/admin/product/stock-events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeStockEvents() {
+        return productStockEventStream.subscribe();
     }
 
     /**
@@ -80,6 +240,7 @@ public class ApiV1ProductController {
      * @param price    가격
      * @param stock    재고
      * @param imageUrl 이미지 URL
+     * @param lowStockThreshold 재고 부족 기준치 (수정 시에만, 없으면 변경 안 함)
      */
     record ProductReqBody(
             @NotBlank
@@ -87,7 +248,9 @@ public class ApiV1ProductController {
             String origin,
             int price,
             int stock,
-            String imageUrl
+            String imageUrl,
+            @Min(0)
+            Integer lowStockThreshold
     ) {
     }
 
@@ -116,16 +279,104 @@ public class ApiV1ProductController {
             );
         }
 
+        Product product = productService.register(reqBody.name, reqBody.price, reqBody.origin, reqBody.stock, reqBody.imageUrl);
+        productCatalogCache.invalidate();
+
         return new RsData<>(
                 "201",
                 "등록완료",
                 new ProductResBody(
-                        new ProductDto(productService.register(reqBody.name, reqBody.price, reqBody.origin, reqBody.stock, reqBody.imageUrl))
+                        new ProductDto(product)
                 )
         );
     }
 
 
+    /**
+     * 상품 일괄 수정 요청 바디
+     * 대상은 ids, origin 으로 지정하고 null 인 항목은 변경하지 않는다.
+     *
+     * @param ids          상품 id 목록
+     * @param origin       원산지
+     * @param price        변경할 가격
+     * @param pricePercent 가격 증감률 (%, 예: 5 → 5% 인상), -100 ~ 1000
+     * @param stock        변경할 재고
+     * @param active       노출 여부
+     */
+    record ProductBulkReqBody(
+            List<Long> ids,
+            String origin,
+            @Min(0) Integer price,
+            @Min(-100) @Max(1000) Integer pricePercent,
+            @Min(0) Integer stock,
+            Boolean active
+    ) {
+    }
+
+    record ProductBulkResBody(
+            int updated
+    ) {
+    }
+
+    /**
+     * 상품 일괄 수정
+     *
+     * @param reqBody
+     * @return
+     */
+    @PatchMapping("/admin/product")
+    @Transactional
+    @ResponseBody
+    public RsData<ProductBulkResBody> bulkModifyItems(
+            @RequestBody @Valid ProductBulkReqBody reqBody
+    ) {
+        int updated = productService.bulkUpdate(
+                reqBody.ids,
+                reqBody.origin,
+                reqBody.price,
+                reqBody.pricePercent,
+                reqBody.stock,
+                reqBody.active
+        );
+        productCatalogCache.invalidate();
+
+        return new RsData<>(
+                String.valueOf(HttpStatus.OK.value()),
+                "%d건 수정되었습니다.".formatted(updated),
+                new ProductBulkResBody(updated)
+        );
+    }
+
+
+    /**
+     * 상품 대량 등록
+     * text/csv (첫 줄 헤더: name,price,origin,stock,imageUrl) 또는
+     * application/x-ndjson (한 줄에 상품 하나) 본문을 스트리밍으로 읽는다.
+     *
+     * @param contentType
+     * @param body
+     * @return 처리 건수와 중복/실패한 행
+     */
+    @PostMapping(value = "/admin/product/import", consumes = {"text/csv", "application/x-ndjson"})
+    @ResponseBody
+    public RsData<ProductImportResBody> importItems(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) {
+        ProductImportService.Format format = contentType.contains("ndjson")
+                ? ProductImportService.Format.NDJSON
+                : ProductImportService.Format.CSV;
+
+        ProductImportResBody result = productImportService.importProducts(body, format);
+
+        return new RsData<>(
+                result.created() > 0 ? "201" : "200",
+                "%d건 등록, %d건 중복, %d건 실패".formatted(result.created(), result.skipped(), result.failed()),
+                result
+        );
+    }
+
+
     /**
      * 상품 삭제(비활성화)
      *
@@ -142,6 +393,7 @@ public class ApiV1ProductController {
         return productService.findById(id)
                 .map(product -> {
                     productService.change(product);
+                    productCatalogCache.invalidate();
                     if (!product.isUseYn()) {
                         return new RsData<>(
                                 String.valueOf(HttpStatus.OK.value()),
@@ -179,7 +431,7 @@ public class ApiV1ProductController {
     @ResponseBody
     public RsData<ProductResBody> modifyItem(
             @PathVariable Long id,
-            @RequestBody ProductReqBody reqBody
+            @RequestBody @Valid ProductReqBody reqBody
     ) {
 
         productService.findById(id).ifPresentOrElse(
@@ -192,6 +444,10 @@ public class ApiV1ProductController {
                             reqBody.stock,
                             reqBody.imageUrl
                     );
+                    if (reqBody.lowStockThreshold != null) {
+                        productService.changeLowStockThreshold(product, reqBody.lowStockThreshold);
+                    }
+                    productCatalogCache.invalidate();
                 },
                 () -> {
                     throw new RuntimeException("존재하지 않는 상품입니다.");
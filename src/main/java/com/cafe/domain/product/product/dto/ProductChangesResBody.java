@@ -0,0 +1,9 @@
+package com.cafe.domain.product.product.dto;
+
+import java.util.List;
+
+public record ProductChangesResBody(
+        long version,
+        List<ProductDto> products
+) {
+}
@@ -0,0 +1,27 @@
+package com.cafe.domain.product.product.dto;
+
+import java.util.List;
+
+/**
+ * @param rows 중복/실패한 줄 (앞에서부터 일부만, 등록된 줄은 건수만)
+ */
+public record ProductImportResBody(
+        int total,
+        int created,
+        int skipped,
+        int failed,
+        List<RowResult> rows
+) {
+    /**
+     * @param line    원본 줄 번호
+     * @param status  SKIPPED, FAILED
+     * @param message 실패/중복 사유
+     */
+    public record RowResult(
+            int line,
+            String name,
+            String status,
+            String message
+    ) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.cafe.domain.product.product.dto;
+
+import java.util.List;
+
+/**
+ * 키셋 페이지 응답
+ *
+ * @param products   상품 목록 (id 오름차순)
+ * @param nextCursor 다음 페이지 요청의 cursor, 마지막 페이지이면 null
+ */
+public record ProductPageResBody(
+        List<ProductDto> products,
+        Long nextCursor
+) {
+}
@@ -0,0 +1,11 @@
+package com.cafe.domain.product.product.dto;
+
+import java.util.List;
+
+public record ProductSearchResBody(
+        List<ProductDto> products,
+        int page,
+        int size,
+        long total
+) {
+}
@@ -0,0 +1,12 @@
+package com.cafe.domain.product.product.dto;
+
+public record ProductStockDto(
+        Long id,
+        String name,
+        int stock,
+        int threshold
+) {
+    public ProductStockDto withStock(int stock) {
+        return new ProductStockDto(id, name, stock, threshold);
+    }
+}
@@ -0,0 +1,16 @@
+package com.cafe.domain.product.product.dto;
+
+/**
+ * 재고 기준치 통과 이벤트
+ *
+ * @param type    LOW_STOCK(기준치 이하), OUT_OF_STOCK(품절), RESTOCKED(기준치 초과로 회복)
+ * @param product 변경 후 재고
+ */
+public record ProductStockEvent(
+        Type type,
+        ProductStockDto product
+) {
+    public enum Type {
+        LOW_STOCK, OUT_OF_STOCK, RESTOCKED
+    }
+}
@@ -3,14 +3,25 @@ package com.cafe.domain.product.product.entity;
 import com.cafe.global.jpa.entity.BaseEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import lombok.AllArgsConstructor;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
 @Getter
 @NoArgsConstructor
-@AllArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_product_catalog_version", columnList = "catalogVersion"),
+        // 목록 페이지(findPage) 는 id 순 키셋 조회라 같음(=) 조건 컬럼 뒤에 id 가 와야 정렬 없이 읽는다
+        // 가격 범위/상품명 접두어는 이 인덱스를 따라 읽으면서 거른다 (범위 조건 뒤의 id 는 정렬에 못 쓴다)
+        // 사용자 목록 - 노출 상품 전체
+        @Index(name = "idx_product_use_yn_id", columnList = "useYn, id"),
+        // 사용자 목록 - 노출 상품 + 원산지, 관리자 목록 - active + 원산지
+        @Index(name = "idx_product_use_yn_origin_id", columnList = "useYn, productOrigin, id"),
+        // 관리자 목록 - active 없이 원산지
+        @Index(name = "idx_product_origin_id", columnList = "productOrigin, id")
+})
 public class Product extends BaseEntity {
 
     @Column(unique = true)
@@ -20,7 +31,17 @@ public class Product extends BaseEntity {
     private int productStock; // 재고
     private String imageUrl; // 이미지 URL
     private boolean useYn = true; // 사용여부
+    private Long catalogVersion; // 마지막으로 변경된 카탈로그 버전
+    private Integer lowStockThreshold; // 재고 부족 기준치 (null 이면 기본값)
 
+    public Product(String productName, int productPrice, String productOrigin, int productStock, String imageUrl, boolean useYn) {
+        this.productName = productName;
+        this.productPrice = productPrice;
+        this.productOrigin = productOrigin;
+        this.productStock = productStock;
+        this.imageUrl = imageUrl;
+        this.useYn = useYn;
+    }
 
     @Override
     public String toString() {
@@ -39,4 +60,12 @@ public class Product extends BaseEntity {
     public void changeUseYn(boolean useYn) {
         this.useYn = useYn;
     }
+
+    public void changeLowStockThreshold(Integer lowStockThreshold) {
+        this.lowStockThreshold = lowStockThreshold;
+    }
+
+    public void markChanged(long catalogVersion) {
+        this.catalogVersion = catalogVersion;
+    }
 }
@@ -2,13 +2,32 @@ package com.cafe.domain.product.product.repository;
 
 import com.cafe.domain.product.product.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
     boolean existsByProductName(String productName);
     Optional<Product> findByProductName(String productName);
 
+    List<Product> findByCatalogVersionGreaterThanOrderByCatalogVersionAsc(Long catalogVersion);
+
+    @Query("select p.productName from Product p")
+    List<String> findAllProductNames();
+
+    @Query("select coalesce(max(p.catalogVersion), 0) from Product p")
+    long findMaxCatalogVersion();
+
+    // 재고가 충분할 때만 차감, 차감되면 1 아니면 0
+    @Modifying
+    @Query("update Product p set p.productStock = p.productStock - :quantity where p.id = :id and p.productStock >= :quantity")
+    int decreaseStock(Long id, int quantity);
+
+    @Modifying
+    @Query("update Product p set p.productStock = p.productStock + :quantity where p.id = :id")
+    int increaseStock(Long id, int quantity);
 }
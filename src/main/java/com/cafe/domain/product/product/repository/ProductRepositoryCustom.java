@@ -0,0 +1,34 @@
+package com.cafe.domain.product.product.repository;
+
+import com.cafe.domain.product.product.entity.Product;
+
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * 키셋(커서) 페이지 조회, id 오름차순
+     * null 인 조건은 적용하지 않는다.
+     *
+     * @param afterId    이전 페이지 마지막 id (첫 페이지는 null)
+     * @param namePrefix 상품명 시작 문자열
+     */
+    List<Product> findPage(Long afterId, Boolean useYn, String origin,
+                           Integer minPrice, Integer maxPrice, String namePrefix,
+                           int limit);
+
+    /**
+     * 일괄 수정 대상 중 가장 높은 가격 (대상이 없으면 null)
+     */
+    Integer findMaxPrice(List<Long> ids, String origin);
+
+    /**
+     * 조건에 맞는 상품을 UPDATE 한 번으로 일괄 수정
+     * null 인 값은 변경하지 않는다. price 가 있으면 pricePercent 는 무시한다.
+     *
+     * @return 수정된 행 수
+     */
+    int bulkUpdate(List<Long> ids, String origin,
+                   Integer price, Integer pricePercent, Integer stock, Boolean useYn,
+                   long catalogVersion);
+}
@@ -0,0 +1,103 @@
+package com.cafe.domain.product.product.repository;
+
+import com.cafe.domain.product.product.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<Product> findPage(Long afterId, Boolean useYn, String origin,
+                                  Integer minPrice, Integer maxPrice, String namePrefix,
+                                  int limit) {
+
+        // 있는 조건만 where 절에 넣어서 (노출 여부, 원산지, id) 인덱스 중 맞는 것을 타도록 한다
+        StringBuilder jpql = new StringBuilder("select p from Product p where 1 = 1");
+        if (afterId != null) jpql.append(" and p.id > :afterId");
+        if (useYn != null) jpql.append(" and p.useYn = :useYn");
+        if (origin != null) jpql.append(" and p.productOrigin = :origin");
+        if (minPrice != null) jpql.append(" and p.productPrice >= :minPrice");
+        if (maxPrice != null) jpql.append(" and p.productPrice <= :maxPrice");
+        if (namePrefix != null) jpql.append(" and p.productName like :namePrefix escape '\\'");
+        jpql.append(" order by p.id");
+
+        TypedQuery<Product> query = em.createQuery(jpql.toString(), Product.class)
+                .setMaxResults(limit);
+
+        if (afterId != null) query.setParameter("afterId", afterId);
+        if (useYn != null) query.setParameter("useYn", useYn);
+        if (origin != null) query.setParameter("origin", origin);
+        if (minPrice != null) query.setParameter("minPrice", minPrice);
+        if (maxPrice != null) query.setParameter("maxPrice", maxPrice);
+        if (namePrefix != null) query.setParameter("namePrefix", escapeLike(namePrefix) + "%");
+
+        return query.getResultList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    @Override
+    public Integer findMaxPrice(List<Long> ids, String origin) {
+        StringBuilder jpql = new StringBuilder("select max(p.productPrice) from Product p where 1 = 1");
+        if (ids != null && !ids.isEmpty()) jpql.append(" and p.id in :ids");
+        if (origin != null) jpql.append(" and p.productOrigin = :origin");
+
+        TypedQuery<Integer> query = em.createQuery(jpql.toString(), Integer.class);
+        if (ids != null && !ids.isEmpty()) query.setParameter("ids", ids);
+        if (origin != null) query.setParameter("origin", origin);
+
+        return query.getSingleResult();
+    }
+
+    @Override
+    public int bulkUpdate(List<Long> ids, String origin,
+                          Integer price, Integer pricePercent, Integer stock, Boolean useYn,
+                          long catalogVersion) {
+
+        StringBuilder jpql = new StringBuilder("""
+                update Product p
+                set p.catalogVersion = :version, p.modifyDate = :now""");
+
+        if (price != null) {
+            jpql.append(", p.productPrice = :price");
+        } else if (pricePercent != null) {
+            // 정수 연산이라 원 단위 이하는 버림, 곱셈이 int 를 넘지 않도록 long 으로 계산한다
+            jpql.append(", p.productPrice = cast(p.productPrice as Long) * (100 + :percent) / 100");
+        }
+        if (stock != null) jpql.append(", p.productStock = :stock");
+        if (useYn != null) jpql.append(", p.useYn = :useYn");
+
+        jpql.append(" where 1 = 1");
+        if (ids != null && !ids.isEmpty()) jpql.append(" and p.id in :ids");
+        if (origin != null) jpql.append(" and p.productOrigin = :origin");
+
+        // 영속성 컨텍스트에 남은 변경을 먼저 반영하고, 끝나면 비워서 오래된 엔티티를 읽지 않도록 한다
+        em.flush();
+
+        Query query = em.createQuery(jpql.toString())
+                .setParameter("version", catalogVersion)
+                .setParameter("now", LocalDateTime.now());
+
+        if (price != null) query.setParameter("price", price);
+        else if (pricePercent != null) query.setParameter("percent", pricePercent);
+        if (stock != null) query.setParameter("stock", stock);
+        if (useYn != null) query.setParameter("useYn", useYn);
+        if (ids != null && !ids.isEmpty()) query.setParameter("ids", ids);
+        if (origin != null) query.setParameter("origin", origin);
+
+        int updated = query.executeUpdate();
+        em.clear();
+
+        return updated;
+    }
+}
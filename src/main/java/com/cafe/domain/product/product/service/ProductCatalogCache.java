@@ -0,0 +1,143 @@
+package com.cafe.domain.product.product.service;
+
+import com.cafe.domain.product.product.dto.ProductDto;
+import com.cafe.domain.product.product.repository.ProductRepository;
+import com.cafe.global.transaction.AfterCommit;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품 목록 캐시
+ * 사용자용(활성 상품)과 관리자용(전체 상품) 목록을 직렬화된 JSON 바이트와 ETag 로 보관한다.
+ * 상품이 변경되면 invalidate() 로 무효화하고, 다음 조회 시 한 번만 다시 만든다.
+ * 재고만 바뀐 경우(주문, 장바구니, 주문 취소)는 stockChanged() 로 알리고, 스냅샷이 stockStaleness 보다
+ * 오래됐을 때만 다시 만든다. 주문이 몰려도 목록은 그 주기에 한 번만 다시 읽는다. (재고는 주문할 때 DB 에서 다시 확인한다)
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductCatalogCache {
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+
+    // 무효화될 때마다 증가, 스냅샷이 어느 세대에서 만들어졌는지 비교하는 용도
+    private final AtomicLong generation = new AtomicLong();
+    // 재고가 바뀔 때마다 증가
+    private final AtomicLong stockGeneration = new AtomicLong();
+    private volatile Catalog catalog;
+
+    // 재고 변경을 목록에 반영하기까지 허용하는 시간
+    @Value("${app.product.catalog-stock-staleness:1s}")
+    private Duration stockStaleness;
+
+    public record Snapshot(byte[] body, String etag) {
+    }
+
+    private record Catalog(long generation, long stockGeneration, long builtAt, Snapshot active, Snapshot all) {
+    }
+
+    // 사용자용 목록 (useYn = true)
+    public Snapshot active() {
+        return load().active();
+    }
+
+    // 관리자용 목록 (전체)
+    public Snapshot all() {
+        return load().all();
+    }
+
+    /**
+     * 캐시 무효화
+     * 트랜잭션 안에서 호출되면 커밋/롤백 이후에도 한 번 더 무효화해서
+     * 그 사이에 커밋 전 데이터로 만들어진 스냅샷이 남지 않도록 한다.
+     */
+    public void invalidate() {
+        evict();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            AfterCommit.register(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict();
+                }
+            });
+        }
+    }
+
+    // 재고 변경 - 커밋된 뒤에 반영한다 (롤백되면 바뀐 것이 없다)
+    public void stockChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            AfterCommit.register(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stockGeneration.incrementAndGet();
+                }
+            });
+            return;
+        }
+
+        stockGeneration.incrementAndGet();
+    }
+
+    private void evict() {
+        generation.incrementAndGet();
+        catalog = null;
+    }
+
+    private Catalog load() {
+        long current = generation.get();
+        Catalog cached = catalog;
+        if (isFresh(cached, current)) return cached;
+
+        synchronized (this) {
+            current = generation.get();
+            cached = catalog;
+            if (isFresh(cached, current)) return cached;
+
+            long stock = stockGeneration.get();
+            long builtAt = System.nanoTime();
+
+            List<ProductDto> all = productRepository.findAll().stream()
+                    .map(ProductDto::new)
+                    .toList();
+            List<ProductDto> active = all.stream()
+                    .filter(ProductDto::active)
+                    .toList();
+
+            Catalog built = new Catalog(current, stock, builtAt, snapshot(active), snapshot(all));
+
+            // 만드는 도중 무효화되었다면 저장하지 않고 이번 요청에만 사용
+            if (generation.get() == current) {
+                catalog = built;
+            }
+            return built;
+        }
+    }
+
+    // 상품 변경이 없고, 재고 변경도 없거나 아직 허용 시간 안이면 그대로 쓴다
+    private boolean isFresh(Catalog cached, long current) {
+        return cached != null
+                && cached.generation() == current
+                && (cached.stockGeneration() == stockGeneration.get()
+                || System.nanoTime() - cached.builtAt() < stockStaleness.toNanos());
+    }
+
+    private Snapshot snapshot(List<ProductDto> products) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(products);
+            return new Snapshot(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("상품 목록 직렬화에 실패했습니다.", e);
+        }
+    }
+}
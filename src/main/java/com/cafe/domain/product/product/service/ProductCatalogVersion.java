@@ -0,0 +1,61 @@
+package com.cafe.domain.product.product.service;
+
+import com.cafe.domain.product.product.repository.ProductRepository;
+import com.cafe.global.transaction.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 상품 카탈로그 버전
+ * 상품이 생성/수정/활성화 변경될 때마다 단조 증가하는 버전을 발급한다.
+ * 아직 커밋되지 않은 버전이 있으면 그 직전까지만 "확정된 버전" 으로 알려줘서
+ * 늦게 커밋된 변경을 클라이언트가 건너뛰지 않도록 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductCatalogVersion {
+
+    private final ProductRepository productRepository;
+
+    private final ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>();
+    private long last = -1;
+
+    // 새 버전 발급
+    public synchronized long next() {
+        if (last < 0) {
+            last = productRepository.findMaxCatalogVersion();
+        }
+
+        long version = ++last;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            inFlight.add(version);
+            AfterCommit.register(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    inFlight.remove(version);
+                }
+            });
+        }
+
+        return version;
+    }
+
+    // 이 버전까지의 변경은 모두 커밋되었음이 보장된다
+    public long committed() {
+        long latest;
+        synchronized (this) {
+            if (last < 0) {
+                last = productRepository.findMaxCatalogVersion();
+            }
+            latest = last;
+        }
+
+        Long oldest = inFlight.ceiling(Long.MIN_VALUE);
+        return oldest == null ? latest : Math.min(latest, oldest - 1);
+    }
+}
@@ -0,0 +1,222 @@
+package com.cafe.domain.product.product.service;
+
+import com.cafe.domain.product.product.dto.ProductImportResBody;
+import com.cafe.domain.product.product.repository.ProductRepository;
+import com.cafe.global.exception.ServiceException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 상품 대량 등록
+ * CSV 또는 NDJSON 본문을 한 줄씩 읽으면서 BATCH_SIZE 만큼 모아 JDBC 배치로 insert 한다.
+ * 상품명 중복은 처음에 한 번 읽어 둔 상품명 목록으로 판단한다.
+ * 등록된 줄은 건수만 세고, 응답에는 중복/실패한 줄만 MAX_REPORTED_ROWS 건까지 담는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductImportService {
+
+    private static final int BATCH_SIZE = 500;
+
+    // 응답에 담는 중복/실패 줄 수 (건수는 전부 센다)
+    private static final int MAX_REPORTED_ROWS = 1000;
+
+    private static final String INSERT_SQL = """
+            insert into product
+                (product_name, product_price, product_origin, product_stock, image_url, use_yn, catalog_version, create_date, modify_date)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final ProductRepository productRepository;
+    private final ProductCatalogVersion productCatalogVersion;
+    private final ProductCatalogCache productCatalogCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductStockIndex productStockIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private record Row(int line, String name, int price, String origin, int stock, String imageUrl) {
+    }
+
+    @Transactional
+    public ProductImportResBody importProducts(InputStream in, Format format) {
+        Set<String> names = new HashSet<>(productRepository.findAllProductNames());
+        long version = productCatalogVersion.next();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<ProductImportResBody.RowResult> results = new ArrayList<>();
+        List<Row> batch = new ArrayList<>(BATCH_SIZE);
+        int created = 0;
+        int skipped = 0;
+        int failed = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String[] header = null;
+            String text;
+            int line = 0;
+
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) continue;
+
+                // CSV 는 첫 줄이 헤더
+                if (format == Format.CSV && header == null) {
+                    header = parseCsvLine(text).stream()
+                            .map(String::trim)
+                            .toArray(String[]::new);
+                    continue;
+                }
+
+                Row row;
+                try {
+                    row = format == Format.CSV ? parseCsv(line, header, text) : parseJson(line, text);
+                } catch (IllegalArgumentException | IOException e) {
+                    failed++;
+                    report(results, new ProductImportResBody.RowResult(line, null, "FAILED", e.getMessage()));
+                    continue;
+                }
+
+                if (!names.add(row.name())) {
+                    skipped++;
+                    report(results, new ProductImportResBody.RowResult(line, row.name(), "SKIPPED", "동일 상품 존재"));
+                    continue;
+                }
+
+                batch.add(row);
+
+                if (batch.size() == BATCH_SIZE) {
+                    created += flush(batch, version, now);
+                }
+            }
+        } catch (IOException e) {
+            throw new ServiceException("400-1", "업로드 파일을 읽을 수 없습니다.");
+        }
+
+        created += flush(batch, version, now);
+
+        if (created > 0) {
+            productCatalogCache.invalidate();
+            productSearchIndex.reload();
+            productStockIndex.reload();
+        }
+
+        return new ProductImportResBody(created + skipped + failed, created, skipped, failed, results);
+    }
+
+    private void report(List<ProductImportResBody.RowResult> results, ProductImportResBody.RowResult result) {
+        if (results.size() < MAX_REPORTED_ROWS) results.add(result);
+    }
+
+    private int flush(List<Row> batch, long version, Timestamp now) {
+        if (batch.isEmpty()) return 0;
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, row) -> {
+            ps.setString(1, row.name());
+            ps.setInt(2, row.price());
+            ps.setString(3, row.origin());
+            ps.setInt(4, row.stock());
+            ps.setString(5, row.imageUrl());
+            ps.setBoolean(6, true);
+            ps.setLong(7, version);
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        });
+
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+
+    private Row parseJson(int line, String text) throws IOException {
+        JsonNode node = objectMapper.readTree(text);
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("JSON 객체가 아닙니다.");
+        }
+
+        return toRow(
+                line,
+                node.path("name").asText(null),
+                node.path("price").asText(null),
+                node.path("origin").asText(null),
+                node.path("stock").asText(null),
+                node.path("imageUrl").asText(null)
+        );
+    }
+
+    private Row parseCsv(int line, String[] header, String text) {
+        List<String> values = parseCsvLine(text);
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < header.length && i < values.size(); i++) {
+            row.put(header[i], values.get(i));
+        }
+
+        return toRow(line, row.get("name"), row.get("price"), row.get("origin"), row.get("stock"), row.get("imageUrl"));
+    }
+
+    private Row toRow(int line, String name, String price, String origin, String stock, String imageUrl) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("상품명이 없습니다.");
+        }
+
+        return new Row(line, name.trim(), toInt(price, "가격"), origin, toInt(stock, "재고"), imageUrl);
+    }
+
+    private int toInt(String value, String field) {
+        try {
+            int number = value == null || value.isBlank() ? 0 : Integer.parseInt(value.trim());
+            if (number < 0) throw new IllegalArgumentException(field + "은(는) 0 이상이어야 합니다.");
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " 형식이 올바르지 않습니다: " + value);
+        }
+    }
+
+    // 큰따옴표로 감싼 값과 "" 이스케이프를 지원하는 단순 CSV 파서
+    private static List<String> parseCsvLine(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        values.add(current.toString());
+        return values;
+    }
+}
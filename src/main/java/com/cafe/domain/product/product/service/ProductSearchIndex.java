@@ -0,0 +1,225 @@
+package com.cafe.domain.product.product.service;
+
+import com.cafe.domain.product.product.entity.Product;
+import com.cafe.domain.product.product.repository.ProductRepository;
+import com.cafe.global.transaction.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품 검색 인덱스
+ * 상품명과 원산지를 1-gram, 2-gram 으로 쪼개 상품 id 목록을 메모리에 들고 있는다.
+ * 검색어의 gram 목록을 교집합한 뒤 실제 포함 여부를 확인하고 점수 순으로 정렬한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+
+    private final ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private volatile boolean loaded = false;
+
+    private record Document(Long id, String name, String origin, boolean active) {
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            addGrams(name, grams);
+            addGrams(origin, grams);
+            return grams;
+        }
+    }
+
+    public record Hit(Long id, int score) {
+    }
+
+    public record Result(List<Hit> hits, long total) {
+    }
+
+    /**
+     * 검색
+     *
+     * @param query      검색어
+     * @param activeOnly 비활성 상품 제외 여부
+     * @param page       0부터 시작
+     * @param size       페이지 크기
+     * @return 점수 내림차순, 같은 점수면 짧은 상품명, id 순
+     */
+    public Result search(String query, boolean activeOnly, int page, int size) {
+        String q = normalize(query);
+        if (q.isEmpty()) return new Result(List.of(), 0);
+
+        ensureLoaded();
+
+        List<Hit> hits = new ArrayList<>();
+        Map<Long, Integer> nameLength = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            for (Long id : candidates(q)) {
+                Document doc = documents.get(id);
+                if (doc == null || (activeOnly && !doc.active())) continue;
+
+                int score = score(doc, q);
+                if (score == 0) continue;
+
+                hits.add(new Hit(id, score));
+                nameLength.put(id, doc.name().length());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(Comparator.comparingInt(Hit::score).reversed()
+                .thenComparingInt(hit -> nameLength.get(hit.id()))
+                .thenComparingLong(Hit::id));
+
+        int from = Math.min(page * size, hits.size());
+        int to = Math.min(from + size, hits.size());
+        return new Result(List.copyOf(hits.subList(from, to)), hits.size());
+    }
+
+    /**
+     * 상품 추가/변경 반영
+     * 트랜잭션 안이면 커밋된 후에 반영한다.
+     */
+    public void update(Product product) {
+        Document doc = new Document(
+                product.getId(),
+                normalize(product.getProductName()),
+                normalize(product.getProductOrigin()),
+                product.isUseYn()
+        );
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            AfterCommit.register(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(doc);
+                }
+            });
+            return;
+        }
+
+        put(doc);
+    }
+
+    // 다음 검색 때 DB 에서 다시 읽어온다 (트랜잭션 안이면 커밋된 후)
+    public void reload() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            AfterCommit.register(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    loaded = false;
+                }
+            });
+            return;
+        }
+
+        loaded = false;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+
+        lock.writeLock().lock();
+        try {
+            if (loaded) return;
+
+            postings.clear();
+            documents.clear();
+            productRepository.findAll().forEach(product -> index(new Document(
+                    product.getId(),
+                    normalize(product.getProductName()),
+                    normalize(product.getProductOrigin()),
+                    product.isUseYn()
+            )));
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Document doc) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) return; // 아직 로드 전이면 로드할 때 함께 읽힌다
+
+            Document old = documents.remove(doc.id());
+            if (old != null) {
+                for (String gram : old.grams()) {
+                    Set<Long> ids = postings.get(gram);
+                    if (ids == null) continue;
+                    ids.remove(old.id());
+                    if (ids.isEmpty()) postings.remove(gram);
+                }
+            }
+
+            index(doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Document doc) {
+        documents.put(doc.id(), doc);
+        for (String gram : doc.grams()) {
+            postings.computeIfAbsent(gram, key -> new HashSet<>()).add(doc.id());
+        }
+    }
+
+    // 검색어 gram 들의 posting 을 작은 것부터 교집합
+    private Set<Long> candidates(String q) {
+        Set<String> grams = new HashSet<>();
+        if (q.length() == 1) {
+            grams.add(q);
+        } else {
+            for (int i = 0; i + 2 <= q.length(); i++) {
+                grams.add(q.substring(i, i + 2));
+            }
+        }
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) return Set.of();
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    // 상품명 시작 > 상품명 포함 > 원산지 포함
+    private static int score(Document doc, String q) {
+        if (doc.name().startsWith(q)) return 3;
+        if (doc.name().contains(q)) return 2;
+        if (doc.origin().contains(q)) return 1;
+        return 0;
+    }
+
+    private static void addGrams(String text, Set<String> grams) {
+        for (int i = 0; i < text.length(); i++) {
+            grams.add(text.substring(i, i + 1));
+            if (i + 2 <= text.length()) {
+                grams.add(text.substring(i, i + 2));
+            }
+        }
+    }
+
+    // 소문자, 공백 제거
+    private static String normalize(String text) {
+        if (text == null) return "";
+        return text.toLowerCase(Locale.ROOT).replaceAll("\\s+", "");
+    }
+}
@@ -1,7 +1,11 @@
 package com.cafe.domain.product.product.service;
 
+import com.cafe.domain.product.product.dto.ProductDto;
+import com.cafe.domain.product.product.dto.ProductPageResBody;
+import com.cafe.domain.product.product.dto.ProductStockDto;
 import com.cafe.domain.product.product.entity.Product;
 import com.cafe.domain.product.product.repository.ProductRepository;
+import com.cafe.global.exception.ServiceException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -13,10 +17,19 @@ import java.util.Optional;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductCatalogVersion productCatalogVersion;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductStockIndex productStockIndex;
+    private final ProductCatalogCache productCatalogCache;
 
 
     public Product register(String productName, int productPrice, String origin, int stock, String imgUrl) {
-        return productRepository.save(new Product(productName, productPrice, origin, stock, imgUrl, true));
+        Product product = new Product(productName, productPrice, origin, stock, imgUrl, true);
+        product.markChanged(productCatalogVersion.next());
+        productRepository.save(product);
+        productSearchIndex.update(product);
+        productStockIndex.update(product);
+        return product;
     }
 
 
@@ -44,11 +57,138 @@ public class ProductService {
 
     public Product change(Product product) {
         product.changeUseYn(!product.isUseYn());
-        return productRepository.save(product);
+        product.markChanged(productCatalogVersion.next());
+        productRepository.save(product);
+        productSearchIndex.update(product);
+        return product;
     }
 
     public void moidfy(Product product, String productName, int productPrice, String origin, int stock, String imgUrl) {
         product.update(productName, productPrice, origin, stock, imgUrl);
+        product.markChanged(productCatalogVersion.next());
+        productSearchIndex.update(product);
+        productStockIndex.update(product);
+    }
+
+    public void changeLowStockThreshold(Product product, Integer threshold) {
+        if (threshold != null && threshold < 0) {
+            throw new ServiceException("400-1", "재고 부족 기준치는 0 이상이어야 합니다.");
+        }
+
+        product.changeLowStockThreshold(threshold);
+        productStockIndex.update(product);
+    }
+
+    /**
+     * 재고 차감 - 재고가 충분할 때만 조건부 UPDATE 로 차감한다.
+     * 커밋되면 재고 부족 인덱스에 반영되고, 상품 목록 캐시는 재고 반영 주기에 맞춰 다시 만든다.
+     *
+     * @return 차감되었으면 true, 재고가 부족하면 false
+     */
+    public boolean decreaseStock(Long productId, int quantity) {
+        if (productRepository.decreaseStock(productId, quantity) == 0) return false;
+
+        productCatalogCache.stockChanged();
+        productStockIndex.adjust(productId, -quantity);
+        return true;
+    }
+
+    // 재고 복구 (장바구니 홀드 해제, 주문 취소)
+    public void increaseStock(Long productId, int quantity) {
+        productRepository.increaseStock(productId, quantity);
+
+        productCatalogCache.stockChanged();
+        productStockIndex.adjust(productId, quantity);
+    }
+
+    // 재고 부족 상품 (재고 - 기준치 오름차순)
+    public List<ProductStockDto> findLowStock(int limit) {
+        return productStockIndex.atRisk(limit);
+    }
+
+    /**
+     * 상품 일괄 수정 (가격/재고/노출 여부)
+     * ids 또는 origin 중 하나 이상으로 대상을 지정해야 한다.
+     *
+     * @return 수정된 상품 수
+     */
+    public int bulkUpdate(List<Long> ids, String origin,
+                          Integer price, Integer pricePercent, Integer stock, Boolean useYn) {
+        if ((ids == null || ids.isEmpty()) && origin == null) {
+            throw new ServiceException("400-1", "수정할 상품(ids) 또는 원산지(origin)를 지정해야 합니다.");
+        }
+        if (price == null && pricePercent == null && stock == null && useYn == null) {
+            throw new ServiceException("400-2", "수정할 항목이 없습니다.");
+        }
+
+        if (price == null && pricePercent != null && pricePercent > 0) {
+            Integer maxPrice = productRepository.findMaxPrice(ids, origin);
+            if (maxPrice != null && (long) maxPrice * (100 + pricePercent) / 100 > Integer.MAX_VALUE) {
+                throw new ServiceException("400-3", "인상된 가격이 허용 범위를 넘습니다.");
+            }
+        }
+
+        int updated = productRepository.bulkUpdate(ids, origin, price, pricePercent, stock, useYn, productCatalogVersion.next());
+        if (updated > 0) {
+            productSearchIndex.reload();
+            productStockIndex.reload();
+        }
+
+        return updated;
+    }
+
+    /**
+     * 키셋 페이지 조회 (id 오름차순)
+     * size + 1 건을 읽어서 다음 페이지가 있으면 마지막 id 를 커서로 돌려준다.
+     *
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     * @param active null 이면 노출 여부와 관계없이 조회
+     */
+    public ProductPageResBody findPage(Long cursor, Boolean active, String origin,
+                                       Integer minPrice, Integer maxPrice, String namePrefix,
+                                       int size) {
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new ServiceException("400-1", "최소 가격이 최대 가격보다 큽니다.");
+        }
+
+        List<Product> products = productRepository.findPage(
+                cursor, active, blankToNull(origin), minPrice, maxPrice, blankToNull(namePrefix), size + 1
+        );
+
+        boolean hasNext = products.size() > size;
+        List<Product> page = hasNext ? products.subList(0, size) : products;
+
+        return new ProductPageResBody(
+                page.stream().map(ProductDto::new).toList(),
+                hasNext ? page.get(page.size() - 1).getId() : null
+        );
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    public List<Product> findAllById(List<Long> ids) {
+        return productRepository.findAllById(ids);
+    }
+
+    // 상품명/원산지 검색, 결과는 점수 순서를 유지한다
+    public ProductSearchIndex.Result search(String query, boolean activeOnly, int page, int size) {
+        return productSearchIndex.search(query, activeOnly, page, size);
+    }
+
+    // 확정된 최신 카탈로그 버전
+    public long currentCatalogVersion() {
+        return productCatalogVersion.committed();
+    }
+
+    // since 이후에 변경된 상품 (0 이하이면 전체)
+    public List<Product> findChangedSince(long since) {
+        if (since <= 0) {
+            return productRepository.findAll();
+        }
+
+        return productRepository.findByCatalogVersionGreaterThanOrderByCatalogVersionAsc(since);
     }
 
 
@@ -0,0 +1,48 @@
+package com.cafe.domain.product.product.service;
+
+import com.cafe.domain.product.product.dto.ProductStockEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 재고 이벤트 구독 (SSE)
+ * 관리자 화면이 구독하면 재고 부족/품절/입고 이벤트를 바로 받는다.
+ */
+@Slf4j
+@Component
+public class ProductStockEventStream {
+
+    private static final long TIMEOUT_MS = 30 * 60 * 1000L;
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(TIMEOUT_MS);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        emitters.add(emitter);
+        return emitter;
+    }
+
+    @EventListener
+    public void onStockEvent(ProductStockEvent event) {
+        log.info("재고 이벤트 {}: {}", event.type(), event.product());
+
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name(event.type().name())
+                        .data(event.product()));
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter);
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.cafe.domain.product.product.service;
+
+import com.cafe.domain.product.product.dto.ProductStockDto;
+import com.cafe.domain.product.product.dto.ProductStockEvent;
+import com.cafe.domain.product.product.entity.Product;
+import com.cafe.domain.product.product.repository.ProductRepository;
+import com.cafe.global.transaction.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * 재고 부족 인덱스
+ * 상품을 (재고 - 기준치) 오름차순으로 정렬해 들고 있어서, 위험 상품은 앞에서부터 읽기만 하면 된다.
+ * 재고가 기준치를 넘나들면 ProductStockEvent 를 발행한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductStockIndex {
+
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.product.low-stock-threshold:5}")
+    private int defaultThreshold;
+
+    private final Map<Long, ProductStockDto> entries = new HashMap<>();
+    private final TreeSet<ProductStockDto> byMargin = new TreeSet<>(
+            Comparator.comparingInt((ProductStockDto e) -> e.stock() - e.threshold())
+                    .thenComparingInt(ProductStockDto::stock)
+                    .thenComparingLong(ProductStockDto::id)
+    );
+    private boolean loaded = false;
+
+    // 기동 직후부터 이벤트가 나가도록 미리 읽어 둔다
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void onReady() {
+        ensureLoaded();
+    }
+
+    // 재고가 기준치 이하인 상품, 부족한 순서
+    public synchronized List<ProductStockDto> atRisk(int limit) {
+        ensureLoaded();
+
+        List<ProductStockDto> result = new ArrayList<>();
+        for (ProductStockDto entry : byMargin) {
+            if (entry.stock() > entry.threshold() || result.size() >= limit) break;
+            result.add(entry);
+        }
+        return result;
+    }
+
+    // 재고/기준치를 값으로 반영 (상품 수정)
+    public void update(Product product) {
+        ProductStockDto next = toEntry(product);
+        afterCommit(() -> put(next.id(), current -> next));
+    }
+
+    // 재고를 증감으로 반영 (주문, 장바구니 홀드)
+    public void adjust(Long productId, int delta) {
+        afterCommit(() -> put(productId, current -> current == null ? null : current.withStock(current.stock() + delta)));
+    }
+
+    // DB 에서 다시 읽어온다 (일괄 수정/등록 후), 이후 변경부터 이벤트가 이어서 나간다
+    public void reload() {
+        afterCommit(() -> {
+            synchronized (this) {
+                loaded = false;
+                ensureLoaded();
+            }
+        });
+    }
+
+    private void put(Long productId, UnaryOperator<ProductStockDto> change) {
+        ProductStockEvent event;
+
+        synchronized (this) {
+            if (!loaded) return; // 로드될 때 DB 값으로 읽힌다
+
+            ProductStockDto before = entries.get(productId);
+            ProductStockDto after = change.apply(before);
+            if (after == null) return;
+
+            if (before != null) byMargin.remove(before);
+            entries.put(productId, after);
+            byMargin.add(after);
+
+            event = crossed(before, after);
+        }
+
+        // 구독자에게 보내는 동안 인덱스를 잠그지 않는다
+        if (event != null) eventPublisher.publishEvent(event);
+    }
+
+    private ProductStockEvent crossed(ProductStockDto before, ProductStockDto after) {
+        if (before == null) return null;
+
+        if (before.stock() > 0 && after.stock() <= 0) {
+            return new ProductStockEvent(ProductStockEvent.Type.OUT_OF_STOCK, after);
+        }
+        if (before.stock() > before.threshold() && after.stock() <= after.threshold()) {
+            return new ProductStockEvent(ProductStockEvent.Type.LOW_STOCK, after);
+        }
+        if (before.stock() <= before.threshold() && after.stock() > after.threshold()) {
+            return new ProductStockEvent(ProductStockEvent.Type.RESTOCKED, after);
+        }
+        return null;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+
+        entries.clear();
+        byMargin.clear();
+        productRepository.findAll().forEach(product -> {
+            ProductStockDto entry = toEntry(product);
+            entries.put(entry.id(), entry);
+            byMargin.add(entry);
+        });
+        loaded = true;
+    }
+
+    private ProductStockDto toEntry(Product product) {
+        return new ProductStockDto(
+                product.getId(),
+                product.getProductName(),
+                product.getProductStock(),
+                product.getLowStockThreshold() != null ? product.getLowStockThreshold() : defaultThreshold
+        );
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            AfterCommit.register(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+            return;
+        }
+
+        task.run();
+    }
+}
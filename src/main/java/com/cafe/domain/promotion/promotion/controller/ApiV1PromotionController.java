@@ -0,0 +1,72 @@
+package com.cafe.domain.promotion.promotion.controller;
+
+import com.cafe.domain.promotion.promotion.dto.PromotionDto;
+import com.cafe.domain.promotion.promotion.dto.PromotionReqBody;
+import com.cafe.domain.promotion.promotion.service.PromotionService;
+import com.cafe.global.rsData.RsData;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/${app.api-version}/admin/promotion")
+public class ApiV1PromotionController {
+
+    private final PromotionService promotionService;
+
+    // 할인 규칙 목록 (비활성 포함)
+    @GetMapping
+    public RsData<List<PromotionDto>> getPromotions() {
+        return new RsData<>(
+                "200-1",
+                "할인 목록",
+                promotionService.findAll()
+        );
+    }
+
+    /**
+     * 할인 규칙 등록, 커밋 후 바로 주문에 적용된다
+     *
+     * @param reqBody
+     * @return
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public RsData<PromotionDto> createPromotion(@RequestBody @Valid PromotionReqBody reqBody) {
+        return new RsData<>(
+                "201-1",
+                "할인이 등록되었습니다.",
+                promotionService.create(reqBody)
+        );
+    }
+
+    /**
+     * 할인 규칙 수정
+     *
+     * @param id
+     * @param reqBody
+     * @return
+     */
+    @PutMapping("/{id}")
+    public RsData<PromotionDto> modifyPromotion(@PathVariable Long id, @RequestBody @Valid PromotionReqBody reqBody) {
+        return new RsData<>(
+                "200-1",
+                "할인이 수정되었습니다.",
+                promotionService.modify(id, reqBody)
+        );
+    }
+
+    // 할인 종료 (비활성화)
+    @DeleteMapping("/{id}")
+    public RsData<PromotionDto> deactivatePromotion(@PathVariable Long id) {
+        return new RsData<>(
+                "200-1",
+                "할인이 종료되었습니다.",
+                promotionService.deactivate(id)
+        );
+    }
+}
@@ -0,0 +1,39 @@
+package com.cafe.domain.promotion.promotion.dto;
+
+import com.cafe.domain.promotion.promotion.entity.Promotion;
+
+import java.time.LocalDateTime;
+
+public record PromotionDto(
+        Long id,
+        String name,
+        Promotion.Type type,
+        Long productId,
+        String origin,
+        Integer buyQuantity,
+        Integer freeQuantity,
+        Integer discountPercent,
+        Long thresholdAmount,
+        Long discountAmount,
+        LocalDateTime startsAt,
+        LocalDateTime endsAt,
+        boolean active
+) {
+    public PromotionDto(Promotion promotion) {
+        this(
+                promotion.getId(),
+                promotion.getName(),
+                promotion.getType(),
+                promotion.getProductId(),
+                promotion.getOrigin(),
+                promotion.getBuyQuantity(),
+                promotion.getFreeQuantity(),
+                promotion.getDiscountPercent(),
+                promotion.getThresholdAmount(),
+                promotion.getDiscountAmount(),
+                promotion.getStartsAt(),
+                promotion.getEndsAt(),
+                promotion.isActive()
+        );
+    }
+}
@@ -0,0 +1,39 @@
+package com.cafe.domain.promotion.promotion.dto;
+
+import com.cafe.domain.promotion.promotion.entity.Promotion;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * 할인 규칙 등록/수정 요청
+ *
+ * @param productId       대상 상품 (BUY_X_GET_Y, PERCENT_OFF 는 productId, origin 중 하나)
+ * @param origin          대상 원산지
+ * @param buyQuantity     BUY_X_GET_Y - 구매 수량
+ * @param freeQuantity    BUY_X_GET_Y - 무료 수량
+ * @param discountPercent PERCENT_OFF - 할인율
+ * @param thresholdAmount BASKET_THRESHOLD - 기준 주문 금액
+ * @param discountAmount  BASKET_THRESHOLD - 할인 금액
+ * @param startsAt        적용 시작 (null 이면 바로)
+ * @param endsAt          적용 종료 (null 이면 계속)
+ * @param active          null 이면 활성
+ */
+public record PromotionReqBody(
+        @NotBlank String name,
+        @NotNull Promotion.Type type,
+        Long productId,
+        String origin,
+        @Min(1) Integer buyQuantity,
+        @Min(1) Integer freeQuantity,
+        @Min(1) @Max(100) Integer discountPercent,
+        @Min(0) Long thresholdAmount,
+        @Min(1) Long discountAmount,
+        LocalDateTime startsAt,
+        LocalDateTime endsAt,
+        Boolean active
+) {
+}
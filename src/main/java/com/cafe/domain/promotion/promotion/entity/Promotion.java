@@ -0,0 +1,76 @@
+package com.cafe.domain.promotion.promotion.entity;
+
+import com.cafe.global.jpa.entity.BaseEntity;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 할인 규칙
+ * BUY_X_GET_Y, PERCENT_OFF 는 상품(productId) 또는 원산지(origin) 단위, BASKET_THRESHOLD 는 주문 합계 단위로 적용한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+public class Promotion extends BaseEntity {
+
+    public enum Type {
+        BUY_X_GET_Y,      // buyQuantity 개 사면 freeQuantity 개 무료 (예: 2+1)
+        PERCENT_OFF,      // discountPercent % 할인
+        BASKET_THRESHOLD  // 주문 합계가 thresholdAmount 이상이면 discountAmount 할인
+    }
+
+    private String name;
+    @Enumerated(EnumType.STRING)
+    private Type type;
+
+    // 대상 (상품 규칙은 둘 중 하나)
+    private Long productId;
+    private String origin;
+
+    private Integer buyQuantity;
+    private Integer freeQuantity;
+    private Integer discountPercent;
+    private Long thresholdAmount;
+    private Long discountAmount;
+
+    // 적용 기간 (null 이면 제한 없음)
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+
+    private boolean active = true;
+
+    public Promotion(String name, Type type, Long productId, String origin,
+                     Integer buyQuantity, Integer freeQuantity, Integer discountPercent,
+                     Long thresholdAmount, Long discountAmount,
+                     LocalDateTime startsAt, LocalDateTime endsAt, boolean active) {
+        update(name, type, productId, origin, buyQuantity, freeQuantity, discountPercent,
+                thresholdAmount, discountAmount, startsAt, endsAt, active);
+    }
+
+    public void update(String name, Type type, Long productId, String origin,
+                       Integer buyQuantity, Integer freeQuantity, Integer discountPercent,
+                       Long thresholdAmount, Long discountAmount,
+                       LocalDateTime startsAt, LocalDateTime endsAt, boolean active) {
+        this.name = name;
+        this.type = type;
+        this.productId = productId;
+        this.origin = origin;
+        this.buyQuantity = buyQuantity;
+        this.freeQuantity = freeQuantity;
+        this.discountPercent = discountPercent;
+        this.thresholdAmount = thresholdAmount;
+        this.discountAmount = discountAmount;
+        this.startsAt = startsAt;
+        this.endsAt = endsAt;
+        this.active = active;
+    }
+
+    public void changeActive(boolean active) {
+        this.active = active;
+    }
+}
@@ -0,0 +1,14 @@
+package com.cafe.domain.promotion.promotion.repository;
+
+import com.cafe.domain.promotion.promotion.entity.Promotion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PromotionRepository extends JpaRepository<Promotion, Long> {
+    List<Promotion> findByActiveTrue();
+
+    List<Promotion> findAllByOrderByIdAsc();
+}
@@ -0,0 +1,47 @@
+package com.cafe.domain.promotion.promotion.service;
+
+import com.cafe.domain.promotion.promotion.repository.PromotionRepository;
+import com.cafe.global.transaction.ReloadableSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 할인 계산
+ * 활성 규칙을 PromotionRules 로 컴파일해서 들고 있다가 규칙이 바뀌면 새로 컴파일해서 통째로 바꾼다.
+ * 주문은 계산을 시작할 때 읽은 규칙으로 끝까지 계산하므로, 바꾸는 동안 주문이 기다리지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PromotionEngine {
+
+    private final PromotionRepository promotionRepository;
+
+    private final ReloadableSnapshot<PromotionRules> rules = new ReloadableSnapshot<>(PromotionRules.EMPTY, this::compile);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rules.load();
+    }
+
+    public long discount(List<PromotionRules.Line> lines, LocalDateTime now) {
+        return rules.get().discount(lines, now);
+    }
+
+    // 규칙 변경 후 호출, 트랜잭션 안이면 커밋된 뒤에 읽는다
+    public void reload() {
+        rules.reload();
+    }
+
+    private PromotionRules compile() {
+        PromotionRules compiled = PromotionRules.compile(promotionRepository.findByActiveTrue());
+        log.info("할인 규칙 {}개 적용", compiled.size());
+        return compiled;
+    }
+}
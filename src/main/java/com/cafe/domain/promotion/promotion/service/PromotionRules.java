@@ -0,0 +1,170 @@
+package com.cafe.domain.promotion.promotion.service;
+
+import com.cafe.domain.promotion.promotion.entity.Promotion;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 컴파일된 할인 규칙 (불변)
+ * 상품 규칙은 상품 id / 원산지별 배열로, 주문 합계 규칙은 별도 배열로 미리 나눠 둔다.
+ * 주문 금액 계산은 주문 상품마다 해당 상품/원산지 배열만 보므로 전체 규칙 수와 관계없다.
+ */
+public final class PromotionRules {
+
+    public static final PromotionRules EMPTY = new PromotionRules(Map.of(), Map.of(), new BasketRule[0]);
+
+    private static final LineRule[] NONE = new LineRule[0];
+
+    /**
+     * 할인 계산에 쓰는 주문 상품
+     *
+     * @param origin    상품 원산지 (없으면 null)
+     * @param unitPrice 주문 당시 단가
+     */
+    public record Line(Long productId, String origin, int unitPrice, int quantity) {
+    }
+
+    // 상품 한 줄에 적용되는 규칙
+    private sealed interface LineRule permits BuyXGetY, PercentOff {
+        Period period();
+
+        long discount(int unitPrice, int quantity);
+    }
+
+    // buy + free 개마다 free 개 무료
+    private record BuyXGetY(Period period, int buy, int free) implements LineRule {
+        public long discount(int unitPrice, int quantity) {
+            return (long) (quantity / (buy + free)) * free * unitPrice;
+        }
+    }
+
+    private record PercentOff(Period period, int percent) implements LineRule {
+        public long discount(int unitPrice, int quantity) {
+            return (long) unitPrice * quantity * percent / 100;
+        }
+    }
+
+    private record BasketRule(Period period, long threshold, long amount) {
+    }
+
+    // 적용 기간, null 이면 제한 없음
+    private record Period(LocalDateTime startsAt, LocalDateTime endsAt) {
+        boolean contains(LocalDateTime now) {
+            return (startsAt == null || !now.isBefore(startsAt)) && (endsAt == null || now.isBefore(endsAt));
+        }
+    }
+
+    private final Map<Long, LineRule[]> byProduct;
+    private final Map<String, LineRule[]> byOrigin;
+    private final BasketRule[] basket;
+
+    private PromotionRules(Map<Long, LineRule[]> byProduct, Map<String, LineRule[]> byOrigin, BasketRule[] basket) {
+        this.byProduct = byProduct;
+        this.byOrigin = byOrigin;
+        this.basket = basket;
+    }
+
+    /**
+     * 활성 규칙을 컴파일
+     * 대상이나 값이 잘못된 규칙은 건너뛴다 (등록할 때 검증하므로 예전 데이터만 해당).
+     */
+    public static PromotionRules compile(List<Promotion> promotions) {
+        Map<Long, List<LineRule>> byProduct = new HashMap<>();
+        Map<String, List<LineRule>> byOrigin = new HashMap<>();
+        List<BasketRule> basket = new ArrayList<>();
+
+        for (Promotion promotion : promotions) {
+            if (!promotion.isActive() || promotion.getType() == null) continue;
+            Period period = new Period(promotion.getStartsAt(), promotion.getEndsAt());
+
+            if (promotion.getType() == Promotion.Type.BASKET_THRESHOLD) {
+                if (promotion.getThresholdAmount() == null || promotion.getDiscountAmount() == null) continue;
+                basket.add(new BasketRule(period, promotion.getThresholdAmount(), promotion.getDiscountAmount()));
+                continue;
+            }
+
+            LineRule rule = toLineRule(promotion, period);
+            if (rule == null) continue;
+            if (promotion.getProductId() != null) {
+                byProduct.computeIfAbsent(promotion.getProductId(), id -> new ArrayList<>()).add(rule);
+            } else if (promotion.getOrigin() != null) {
+                byOrigin.computeIfAbsent(promotion.getOrigin(), origin -> new ArrayList<>()).add(rule);
+            }
+        }
+
+        return new PromotionRules(toArrays(byProduct), toArrays(byOrigin), basket.toArray(new BasketRule[0]));
+    }
+
+    private static LineRule toLineRule(Promotion promotion, Period period) {
+        return switch (promotion.getType()) {
+            case BUY_X_GET_Y -> promotion.getBuyQuantity() == null || promotion.getBuyQuantity() < 1
+                    || promotion.getFreeQuantity() == null || promotion.getFreeQuantity() < 1
+                    ? null
+                    : new BuyXGetY(period, promotion.getBuyQuantity(), promotion.getFreeQuantity());
+            case PERCENT_OFF -> promotion.getDiscountPercent() == null
+                    || promotion.getDiscountPercent() < 1 || promotion.getDiscountPercent() > 100
+                    ? null
+                    : new PercentOff(period, promotion.getDiscountPercent());
+            case BASKET_THRESHOLD -> null;
+        };
+    }
+
+    private static <K> Map<K, LineRule[]> toArrays(Map<K, List<LineRule>> rules) {
+        Map<K, LineRule[]> arrays = new HashMap<>();
+        rules.forEach((key, list) -> arrays.put(key, list.toArray(NONE)));
+        return Map.copyOf(arrays);
+    }
+
+    /**
+     * 주문 할인 금액
+     * 상품마다 적용되는 규칙 중 가장 큰 할인 하나만 적용하고 (중복 할인 없음),
+     * 상품 할인 후 금액으로 주문 합계 규칙 중 기준을 넘는 가장 큰 할인 하나를 더한다.
+     *
+     * @param now 주문 시각 (적용 기간 확인)
+     */
+    public long discount(List<Line> lines, LocalDateTime now) {
+        long total = 0;
+        long lineDiscount = 0;
+
+        for (Line line : lines) {
+            long amount = (long) line.unitPrice() * line.quantity();
+            long best = Math.max(
+                    line.productId() == null ? 0 : best(byProduct.getOrDefault(line.productId(), NONE), line, now),
+                    line.origin() == null ? 0 : best(byOrigin.getOrDefault(line.origin(), NONE), line, now)
+            );
+            total += amount;
+            lineDiscount += Math.min(best, amount);
+        }
+
+        long remaining = total - lineDiscount;
+        long basketDiscount = 0;
+        for (BasketRule rule : basket) {
+            if (rule.threshold() <= remaining && rule.period().contains(now)) {
+                basketDiscount = Math.max(basketDiscount, rule.amount());
+            }
+        }
+
+        return lineDiscount + Math.min(basketDiscount, remaining);
+    }
+
+    private static long best(LineRule[] rules, Line line, LocalDateTime now) {
+        long best = 0;
+        for (LineRule rule : rules) {
+            if (rule.period().contains(now)) {
+                best = Math.max(best, rule.discount(line.unitPrice(), line.quantity()));
+            }
+        }
+        return best;
+    }
+
+    public int size() {
+        int size = basket.length;
+        for (LineRule[] rules : byProduct.values()) size += rules.length;
+        for (LineRule[] rules : byOrigin.values()) size += rules.length;
+        return size;
+    }
+}
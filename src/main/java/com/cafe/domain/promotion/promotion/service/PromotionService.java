@@ -0,0 +1,112 @@
+package com.cafe.domain.promotion.promotion.service;
+
+import com.cafe.domain.product.product.repository.ProductRepository;
+import com.cafe.domain.promotion.promotion.dto.PromotionDto;
+import com.cafe.domain.promotion.promotion.dto.PromotionReqBody;
+import com.cafe.domain.promotion.promotion.entity.Promotion;
+import com.cafe.domain.promotion.promotion.repository.PromotionRepository;
+import com.cafe.global.exception.ServiceException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 할인 규칙 관리
+ * 바뀐 규칙은 커밋된 뒤 PromotionEngine 이 다시 컴파일한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PromotionService {
+
+    private final PromotionRepository promotionRepository;
+    private final ProductRepository productRepository;
+    private final PromotionEngine promotionEngine;
+
+    @Transactional(readOnly = true)
+    public List<PromotionDto> findAll() {
+        return promotionRepository.findAllByOrderByIdAsc().stream()
+                .map(PromotionDto::new)
+                .toList();
+    }
+
+    @Transactional
+    public PromotionDto create(PromotionReqBody req) {
+        validate(req);
+
+        Promotion promotion = promotionRepository.save(new Promotion(
+                req.name(), req.type(), req.productId(), req.origin(),
+                req.buyQuantity(), req.freeQuantity(), req.discountPercent(),
+                req.thresholdAmount(), req.discountAmount(),
+                req.startsAt(), req.endsAt(), req.active() == null || req.active()
+        ));
+        promotionEngine.reload();
+        return new PromotionDto(promotion);
+    }
+
+    @Transactional
+    public PromotionDto modify(Long id, PromotionReqBody req) {
+        validate(req);
+
+        Promotion promotion = findById(id);
+        promotion.update(
+                req.name(), req.type(), req.productId(), req.origin(),
+                req.buyQuantity(), req.freeQuantity(), req.discountPercent(),
+                req.thresholdAmount(), req.discountAmount(),
+                req.startsAt(), req.endsAt(), req.active() == null || req.active()
+        );
+        promotionEngine.reload();
+        return new PromotionDto(promotion);
+    }
+
+    // 내역을 남기기 위해 지우지 않고 비활성화
+    @Transactional
+    public PromotionDto deactivate(Long id) {
+        Promotion promotion = findById(id);
+        promotion.changeActive(false);
+        promotionEngine.reload();
+        return new PromotionDto(promotion);
+    }
+
+    private Promotion findById(Long id) {
+        return promotionRepository.findById(id)
+                .orElseThrow(() -> new ServiceException("404-1", "존재하지 않는 할인입니다."));
+    }
+
+    // 형식 검증(@Valid) 이후 유형별로 필요한 값
+    private void validate(PromotionReqBody req) {
+        switch (req.type()) {
+            case BUY_X_GET_Y -> {
+                validateTarget(req);
+                if (req.buyQuantity() == null || req.freeQuantity() == null) {
+                    throw new ServiceException("400-2", "구매 수량과 무료 수량을 입력해 주세요.");
+                }
+            }
+            case PERCENT_OFF -> {
+                validateTarget(req);
+                if (req.discountPercent() == null) {
+                    throw new ServiceException("400-2", "할인율을 입력해 주세요.");
+                }
+            }
+            case BASKET_THRESHOLD -> {
+                if (req.thresholdAmount() == null || req.discountAmount() == null) {
+                    throw new ServiceException("400-2", "기준 금액과 할인 금액을 입력해 주세요.");
+                }
+            }
+        }
+
+        if (req.startsAt() != null && req.endsAt() != null && !req.startsAt().isBefore(req.endsAt())) {
+            throw new ServiceException("400-3", "적용 종료는 시작 이후여야 합니다.");
+        }
+    }
+
+    private void validateTarget(PromotionReqBody req) {
+        if ((req.productId() == null) == (req.origin() == null || req.origin().isBlank())) {
+            throw new ServiceException("400-1", "할인 대상은 상품 또는 원산지 중 하나만 지정해 주세요.");
+        }
+        if (req.productId() != null && !productRepository.existsById(req.productId())) {
+            throw new ServiceException("404-2", "상품을 찾을 수 없습니다: " + req.productId());
+        }
+    }
+}
@@ -97,4 +97,8 @@ public class Rq {
         response.addCookie(cookie);
 
     }
-}
\ No newline at end of file
+
+    public void setHeader(String name, String value) {
+        response.setHeader(name, value);
+    }
+}
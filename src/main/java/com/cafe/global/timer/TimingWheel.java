@@ -0,0 +1,114 @@
+package com.cafe.global.timer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 해시드 타이밍 휠
+ * tick 마다 한 칸씩 돌면서 그 칸에 있는 만료된 작업만 실행한다.
+ * 등록/취소는 O(1) 이고, 칸(bucket) 은 tick 스레드만 만지므로 잠금이 없다.
+ * 작업은 tick 스레드에서 실행되므로 짧게 끝나야 한다.
+ */
+@Slf4j
+public class TimingWheel implements AutoCloseable {
+
+    private final long tickNanos;
+    private final int mask;
+    private final Queue<Timeout>[] wheel;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService ticker;
+    private final long startNanos = System.nanoTime();
+    private long tick = 0; // tick 스레드만 사용
+
+    public final class Timeout {
+        private final long deadlineTick;
+        private final Runnable task;
+        private volatile boolean cancelled;
+
+        private Timeout(long deadlineTick, Runnable task) {
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * @param tick      한 칸의 시간
+     * @param wheelSize 칸 수 (2의 거듭제곱으로 올림)
+     * @param name      tick 스레드 이름
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(Duration tick, int wheelSize, String name) {
+        this.tickNanos = tick.toNanos();
+
+        int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+        this.mask = size - 1;
+        this.wheel = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleAtFixedRate(this::advance, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // delay 후에 task 실행
+    public Timeout schedule(Runnable task, Duration delay) {
+        long deadline = System.nanoTime() - startNanos + delay.toNanos();
+        Timeout timeout = new Timeout((deadline + tickNanos - 1) / tickNanos, task);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    private void advance() {
+        tick++;
+
+        // 새로 등록된 작업을 칸에 배치, 이미 지난 시각이면 현재 칸에
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.cancelled) continue;
+            long target = Math.max(timeout.deadlineTick, tick);
+            wheel[(int) (target & mask)].add(timeout);
+        }
+
+        Iterator<Timeout> it = wheel[(int) (tick & mask)].iterator();
+        while (it.hasNext()) {
+            Timeout current = it.next();
+            if (current.cancelled) {
+                it.remove();
+            } else if (current.deadlineTick <= tick) {
+                it.remove();
+                try {
+                    current.task.run();
+                } catch (RuntimeException e) {
+                    // 작업 하나의 실패로 휠이 멈추지 않도록 한다
+                    log.warn("타이머 작업 실행 실패", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+}
@@ -0,0 +1,74 @@
+package com.cafe.global.transaction;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 트랜잭션 안이면 커밋된 뒤에, 밖이면 바로 실행
+ * 롤백되면 실행하지 않는다.
+ */
+public final class AfterCommit {
+
+    // deferred() 실행 중 등록된 작업
+    private static final ThreadLocal<List<TransactionSynchronization>> DEFERRED = new ThreadLocal<>();
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            register(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+            return;
+        }
+
+        task.run();
+    }
+
+    /**
+     * 현재 트랜잭션에 커밋/완료 후 작업 등록 (트랜잭션 동기화가 활성일 때만 호출)
+     * deferred() 안이면 바로 등록하지 않고 모아 둔다.
+     */
+    public static void register(TransactionSynchronization synchronization) {
+        List<TransactionSynchronization> deferred = DEFERRED.get();
+        if (deferred != null) {
+            deferred.add(synchronization);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(synchronization);
+    }
+
+    /**
+     * body 안에서 등록되는 작업을 모아 두었다가 body 가 정상 종료된 뒤에 등록한다
+     * 세이브포인트 하나를 body 로 감싸면, 되돌린 세이브포인트의 작업은 바깥 트랜잭션이 커밋되어도 실행되지 않는다.
+     * body 가 예외로 끝나면 모은 작업은 버리고 롤백 시 할 일(afterCompletion) 만 바로 실행한다.
+     */
+    public static <T> T deferred(Supplier<T> body) {
+        List<TransactionSynchronization> previous = DEFERRED.get();
+        List<TransactionSynchronization> collected = new ArrayList<>();
+        DEFERRED.set(collected);
+
+        T result;
+        try {
+            result = body.get();
+        } catch (RuntimeException e) {
+            collected.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            throw e;
+        } finally {
+            if (previous == null) DEFERRED.remove();
+            else DEFERRED.set(previous);
+        }
+
+        collected.forEach(AfterCommit::register);
+        return result;
+    }
+}
@@ -0,0 +1,41 @@
+package com.cafe.global.transaction;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * DB 에서 읽어 만든 읽기 전용 스냅샷
+ * 바뀌면 새로 만들어서 통째로 바꾸므로, 읽는 쪽은 잠그지 않는다.
+ *
+ * @param <T> 스냅샷 (불변)
+ */
+public class ReloadableSnapshot<T> {
+
+    private final Supplier<T> loader;
+    private final AtomicReference<T> current;
+
+    /**
+     * @param initial 처음 읽기 전까지 쓸 값
+     * @param loader  DB 에서 읽어 새 스냅샷을 만든다
+     */
+    public ReloadableSnapshot(T initial, Supplier<T> loader) {
+        this.loader = loader;
+        this.current = new AtomicReference<>(initial);
+    }
+
+    public T get() {
+        return current.get();
+    }
+
+    // 변경 후 호출, 트랜잭션 안이면 커밋된 뒤에 읽는다
+    public void reload() {
+        AfterCommit.run(this::load);
+    }
+
+    // 동시에 다시 읽을 때 먼저 읽은 값이 나중에 덮어쓰지 않도록 읽기 ~ 교체를 한 번에 하나씩
+    public synchronized T load() {
+        T next = loader.get();
+        current.set(next);
+        return next;
+    }
+}
@@ -0,0 +1,232 @@
+package com.cafe.domain.order.order.controller;
+
+import com.cafe.domain.order.order.dto.OrderBulkRequest;
+import com.cafe.domain.order.order.dto.OrderCreateRequest;
+import com.cafe.domain.product.product.service.ProductService;
+import com.cafe.global.test.CommittedDataCleanup;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// 주문 생성은 트랜잭션을 직접 나눠 커밋하므로 테스트 트랜잭션을 걸지 않는다 (커밋된 데이터는 테스트마다 정리)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@ExtendWith(CommittedDataCleanup.class)
+public class OrderControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ResultActions order(String idempotencyKey, String body) throws Exception {
+        return mvc
+                .perform(
+                        post("/api/v1/order")
+                                .header("Idempotency-Key", idempotencyKey)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body)
+                )
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key - 같은 키로 재시도하면 처음 응답을 그대로, 수량은 한 번만 반영")
+    void t1() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                productService.bulkUpdate(List.of(2L), null, null, null, 10, null)
+        );
+
+        String body = """
+                {
+                  "email": "idem-t1@test.com",
+                  "address": "서울시 강남구",
+                  "postalCode": "12345",
+                  "items": [{"productId": 2, "quantity": 2}]
+                }""";
+
+        order("idem-t1", body)
+                .andExpect(handler().handlerType(OrderController.class))
+                .andExpect(handler().methodName("createOrder"))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andExpect(jsonPath("$.data.items[0].quantity").value(2));
+
+        order("idem-t1", body)
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.data.items[0].quantity").value(2));
+
+        assertThat(productService.findById(2L).get().getProductStock()).isEqualTo(8);
+
+        // 같은 키에 다른 주문
+        order("idem-t1", body.replace("\"quantity\": 2", "\"quantity\": 5"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.resultCode").value("422-1"));
+    }
+
+    @Test
+    @DisplayName("대량 주문 - 실패한 주문만 실패, 나머지는 생성")
+    void t2() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                productService.bulkUpdate(List.of(1L, 3L), null, null, null, 10, null)
+        );
+
+        ResultActions resultActions = mvc
+                .perform(
+                        post("/api/v1/order/bulk")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                          "orders": [
+                                            {"email": "bulk-a@test.com", "address": "서울시 강남구", "postalCode": "12345",
+                                             "items": [{"productId": 1, "quantity": 1}, {"productId": 3, "quantity": 2}]},
+                                            {"email": "bulk-b@test.com", "address": "서울시 마포구", "postalCode": "54321",
+                                             "items": [{"productId": 9999, "quantity": 1}]},
+                                            {"email": "bulk-c@test.com", "address": "부산시 해운대구", "postalCode": "48000",
+                                             "items": [{"productId": 3, "quantity": 1}]}
+                                          ]
+                                        }""")
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(OrderController.class))
+                .andExpect(handler().methodName("createOrders"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.total").value(3))
+                .andExpect(jsonPath("$.data.succeeded").value(2))
+                .andExpect(jsonPath("$.data.results[0].resultCode").value("201-1"))
+                .andExpect(jsonPath("$.data.results[0].order.items.length()").value(2))
+                .andExpect(jsonPath("$.data.results[1].resultCode").value("404-1"))
+                .andExpect(jsonPath("$.data.results[2].resultCode").value("201-1"));
+    }
+
+    @Test
+    @DisplayName("대량 주문 - 재고 부족 주문은 그 주문만 되돌리고 (먼저 차감한 상품 포함) 같은 배치의 나머지는 커밋")
+    void t3() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            productService.bulkUpdate(List.of(1L), null, null, null, 1, null);
+            productService.bulkUpdate(List.of(3L), null, null, null, 10, null);
+        });
+
+        mvc
+                .perform(
+                        post("/api/v1/order/bulk")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                          "orders": [
+                                            {"email": "bulk-t3-a@test.com", "address": "서울시 강남구", "postalCode": "12345",
+                                             "items": [{"productId": 1, "quantity": 1}, {"productId": 3, "quantity": 20}]},
+                                            {"email": "bulk-t3-b@test.com", "address": "서울시 마포구", "postalCode": "54321",
+                                             "items": [{"productId": 1, "quantity": 1}]}
+                                          ]
+                                        }""")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.succeeded").value(1))
+                .andExpect(jsonPath("$.data.results[0].resultCode").value("409-1"))
+                .andExpect(jsonPath("$.data.results[1].resultCode").value("201-1"));
+
+        assertThat(productService.findById(1L).get().getProductStock()).isZero();
+        assertThat(productService.findById(3L).get().getProductStock()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("대량 주문 - 전체 상품 줄 수가 제한을 넘으면 거절")
+    void t4() throws Exception {
+        String item = "{\"productId\": 1, \"quantity\": 1}";
+        String items = String.join(",", Collections.nCopies(OrderCreateRequest.MAX_ITEMS, item));
+        String order = """
+                {"email": "bulk-t4@test.com", "address": "서울시 강남구", "postalCode": "12345", "items": [%s]}""".formatted(items);
+        int orders = OrderBulkRequest.MAX_LINES / OrderCreateRequest.MAX_ITEMS + 1;
+
+        mvc
+                .perform(
+                        post("/api/v1/order/bulk")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"orders\": [" + String.join(",", Collections.nCopies(orders, order)) + "]}")
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.resultCode").value("400-4"));
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key - 같은 키로 동시에 들어온 요청은 처음 요청의 결과를 기다려 같은 주문을 받는다")
+    void t5() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                productService.bulkUpdate(List.of(2L), null, null, null, 10, null)
+        );
+
+        String body = """
+                {
+                  "email": "idem-t5@test.com",
+                  "address": "서울시 강남구",
+                  "postalCode": "12345",
+                  "items": [{"productId": 2, "quantity": 2}]
+                }""";
+        int threads = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return order("idem-t5", body)
+                        .andExpect(status().isCreated())
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString();
+            }));
+        }
+
+        start.countDown();
+        List<String> responses = new ArrayList<>();
+        for (Future<String> future : futures) {
+            responses.add(future.get(60, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // 병합된 주문이 아니라 처음 주문 그대로 (수량 2)
+        assertThat(responses)
+                .extracting(response -> JsonPath.<Integer>read(response, "$.data.items[0].quantity"))
+                .containsOnly(2);
+        assertThat(responses)
+                .extracting(response -> JsonPath.<Number>read(response, "$.data.id").longValue())
+                .containsOnly(JsonPath.<Number>read(responses.get(0), "$.data.id").longValue());
+        assertThat(productService.findById(2L).get().getProductStock()).isEqualTo(8);
+    }
+}
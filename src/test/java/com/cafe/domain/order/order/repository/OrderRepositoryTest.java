@@ -0,0 +1,165 @@
+package com.cafe.domain.order.order.repository;
+
+import com.cafe.domain.order.order.entity.Order;
+import com.cafe.domain.order.order.entity.OrderItem;
+import com.cafe.domain.order.order.entity.OrderLine;
+import com.cafe.domain.product.product.entity.Product;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+@ActiveProfiles("test")
+public class OrderRepositoryTest {
+
+    private static final int ITEMS = 500;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private record Run(long statements, long elapsedMs) {
+    }
+
+    private Statistics statistics() {
+        return em.unwrap(Session.class).getSessionFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // 상품 ITEMS 개짜리 주문 하나를 저장하고 JDBC 문장 수와 시간을 잰다
+    private Run insertOrder(Integer jdbcBatchSize) {
+        Session session = em.unwrap(Session.class);
+        Statistics statistics = session.getSessionFactory().unwrap(SessionFactory.class).getStatistics();
+        session.setJdbcBatchSize(jdbcBatchSize);
+
+        Product product = em.getReference(Product.class, 1L);
+        Order order = new Order();
+        order.setStatus("배송준비중");
+        order.setCreatedAt(LocalDateTime.now());
+        for (int i = 0; i < ITEMS; i++) {
+            OrderItem item = new OrderItem();
+            item.setProduct(product);
+            item.setQuantity(1);
+            order.addItem(item);
+        }
+
+        statistics.clear();
+        long begin = System.nanoTime();
+        em.persist(order);
+        em.flush();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+        em.clear();
+
+        return new Run(statistics.getPrepareStatementCount(), elapsedMs);
+    }
+
+    @Test
+    @DisplayName("주문 insert 벤치마크 - JDBC 배치 끔/켬")
+    void t1() {
+        insertOrder(null); // 워밍업
+
+        Run unbatched = insertOrder(1);
+        Run batched = insertOrder(null); // 설정값 (hibernate.jdbc.batch_size)
+
+        System.out.printf("order insert (%d items): unbatched %d statements / %d ms (%.0f rows/s), batched %d statements / %d ms (%.0f rows/s)%n",
+                ITEMS,
+                unbatched.statements(), unbatched.elapsedMs(), (ITEMS + 1) * 1000.0 / Math.max(unbatched.elapsedMs(), 1),
+                batched.statements(), batched.elapsedMs(), (ITEMS + 1) * 1000.0 / Math.max(batched.elapsedMs(), 1));
+
+        // 행마다 insert 하던 것이 시퀀스 조회 + 배치 몇 번으로 줄어야 한다
+        assertThat(unbatched.statements()).isGreaterThan(ITEMS);
+        assertThat(batched.statements()).isLessThan(unbatched.statements() / 10);
+    }
+
+    // 상품 LINES 개짜리 주문 ORDERS 개를 저장 (embedded 면 주문 행에 인코딩도)
+    private Run insertOrders(String email, int orders, int lines, boolean embedded) {
+        List<Product> products = em.createQuery("select p from Product p order by p.id", Product.class)
+                .setMaxResults(lines)
+                .getResultList();
+
+        statistics().clear();
+        long begin = System.nanoTime();
+        for (int i = 0; i < orders; i++) {
+            Order order = new Order();
+            order.setStatus("배송준비중");
+            order.setCreatedAt(LocalDateTime.now());
+            order.setEmail(email);
+            for (Product product : products) {
+                OrderItem item = new OrderItem();
+                item.setProduct(product);
+                item.setQuantity(1);
+                order.addItem(item);
+            }
+            if (embedded) {
+                order.setEncodedItems(OrderLine.encode(order.getOrderItems().stream().map(OrderItem::toLine).toList()));
+            }
+            em.persist(order);
+        }
+        em.flush();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+        em.clear();
+
+        return new Run(statistics().getPrepareStatementCount(), elapsedMs);
+    }
+
+    // 주문 내역을 읽어 주문 상품까지 꺼내는 데 든 JDBC 문장 수와 시간
+    private Run readOrders(Supplier<List<Order>> query) {
+        em.clear();
+        statistics().clear();
+        long begin = System.nanoTime();
+        long quantity = query.get().stream()
+                .flatMap(order -> order.getLines().stream())
+                .mapToLong(OrderLine::quantity)
+                .sum();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+        assertThat(quantity).isPositive();
+
+        return new Run(statistics().getPrepareStatementCount(), elapsedMs);
+    }
+
+    @Test
+    @DisplayName("주문 상품 저장 방식 벤치마크 - order_item 행 / 주문 행에 인코딩")
+    void t2() {
+        int orders = 200;
+        int lines = 3;
+
+        insertOrders("bench-warmup@test.com", orders, lines, true); // 워밍업
+        Run rowsWrite = insertOrders("bench-rows@test.com", orders, lines, false);
+        Run embeddedWrite = insertOrders("bench-embedded@test.com", orders, lines, true);
+
+        readOrders(() -> orderRepository.findByEmailOrderByIdAsc("bench-warmup@test.com")); // 워밍업
+        Run rowsLazyRead = readOrders(() -> orderRepository.findByEmailOrderByIdAsc("bench-rows@test.com"));
+        Run rowsJoinRead = readOrders(() -> orderRepository.findByEmailWithItems("bench-rows@test.com"));
+        Run embeddedRead = readOrders(() -> orderRepository.findByEmailOrderByIdAsc("bench-embedded@test.com"));
+
+        System.out.printf("order items (%d orders x %d lines)%n"
+                        + "  write: rows %d statements / %d ms, embedded %d statements / %d ms%n"
+                        + "  read : rows(lazy) %d statements / %d ms, rows(fetch join) %d statements / %d ms, embedded %d statements / %d ms%n",
+                orders, lines,
+                rowsWrite.statements(), rowsWrite.elapsedMs(), embeddedWrite.statements(), embeddedWrite.elapsedMs(),
+                rowsLazyRead.statements(), rowsLazyRead.elapsedMs(),
+                rowsJoinRead.statements(), rowsJoinRead.elapsedMs(),
+                embeddedRead.statements(), embeddedRead.elapsedMs());
+
+        // 인코딩은 문장을 늘리지 않고 (시퀀스 할당 경계에 따라 한두 번 차이), 읽을 때는 주문 행만 읽는다
+        assertThat(embeddedWrite.statements()).isLessThanOrEqualTo(rowsWrite.statements() + 2);
+        assertThat(rowsLazyRead.statements()).isEqualTo(orders + 1);
+        assertThat(embeddedRead.statements()).isEqualTo(1);
+    }
+}
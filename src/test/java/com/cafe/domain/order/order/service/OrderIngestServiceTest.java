@@ -0,0 +1,81 @@
+package com.cafe.domain.order.order.service;
+
+import com.cafe.domain.order.order.dto.OrderCreateRequest;
+import com.cafe.domain.order.order.dto.OrderTicketDto;
+import com.cafe.domain.product.product.repository.ProductRepository;
+import com.cafe.domain.product.product.service.ProductService;
+import com.cafe.global.test.CommittedDataCleanup;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.order.ingest-mode=async")
+@ActiveProfiles("test")
+@ExtendWith(CommittedDataCleanup.class)
+public class OrderIngestServiceTest {
+
+    @Autowired
+    private OrderIngestService orderIngestService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private OrderTicketDto awaitTicket(String ticketId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            OrderTicketDto ticket = orderIngestService.findTicket(ticketId).get();
+            if (ticket.status() != OrderTicketDto.Status.PENDING) return ticket;
+            Thread.sleep(100);
+        }
+        throw new AssertionError("주문이 처리되지 않았습니다: " + ticketId);
+    }
+
+    @Test
+    @DisplayName("비동기 접수 - 접수 번호를 바로 받고, 배치로 커밋된 뒤 결과 조회")
+    void t1() throws Exception {
+        Long productId = 4L;
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                productService.bulkUpdate(List.of(productId), null, null, null, 25, null)
+        );
+
+        List<String> ticketIds = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            OrderTicketDto ticket = orderIngestService.submit(new OrderCreateRequest(
+                    "ingest-%d@test.com".formatted(i),
+                    "서울시 강남구",
+                    "12345",
+                    List.of(new OrderCreateRequest.Item(productId, 1))
+            ), null);
+
+            assertThat(ticket.status()).isEqualTo(OrderTicketDto.Status.PENDING);
+            ticketIds.add(ticket.ticketId());
+        }
+
+        List<OrderTicketDto> results = new ArrayList<>();
+        for (String ticketId : ticketIds) {
+            results.add(awaitTicket(ticketId));
+        }
+
+        // 재고 25개 → 25건 주문, 5건 재고 부족
+        assertThat(results).filteredOn(t -> t.status() == OrderTicketDto.Status.DONE).hasSize(25);
+        assertThat(results).filteredOn(t -> t.status() == OrderTicketDto.Status.FAILED)
+                .hasSize(5)
+                .allMatch(t -> t.resultCode().equals("409-1"));
+        assertThat(productRepository.findById(productId).get().getProductStock()).isZero();
+    }
+}
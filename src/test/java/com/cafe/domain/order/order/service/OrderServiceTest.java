@@ -0,0 +1,697 @@
+package com.cafe.domain.order.order.service;
+
+import com.cafe.domain.cart.cart.dto.CartDto;
+import com.cafe.domain.cart.cart.service.CartService;
+import com.cafe.domain.delivery.zone.dto.DeliveryZoneDto;
+import com.cafe.domain.delivery.zone.dto.DeliveryZoneReqBody;
+import com.cafe.domain.delivery.zone.service.DeliveryZoneRegistry;
+import com.cafe.domain.delivery.zone.service.DeliveryZoneService;
+import com.cafe.domain.member.member.entity.Member;
+import com.cafe.domain.member.member.service.MemberService;
+import com.cafe.domain.order.details.service.OrderDetailsService;
+import com.cafe.domain.order.order.dto.OrderCreateRequest;
+import com.cafe.domain.order.order.dto.OrderModifyRequest;
+import com.cafe.domain.order.order.dto.OrderResponse;
+import com.cafe.domain.order.order.entity.Order;
+import com.cafe.domain.order.order.entity.OrderItem;
+import com.cafe.domain.order.order.repository.OrderRepository;
+import com.cafe.domain.product.product.dto.ProductStockDto;
+import com.cafe.domain.product.product.dto.ProductStockEvent;
+import com.cafe.domain.product.product.entity.Product;
+import com.cafe.domain.product.product.repository.ProductRepository;
+import com.cafe.domain.product.product.service.ProductService;
+import com.cafe.domain.promotion.promotion.dto.PromotionDto;
+import com.cafe.domain.promotion.promotion.dto.PromotionReqBody;
+import com.cafe.domain.promotion.promotion.entity.Promotion;
+import com.cafe.domain.promotion.promotion.service.PromotionService;
+import com.cafe.global.exception.ServiceException;
+import com.cafe.global.test.CommittedDataCleanup;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 여러 스레드가 실제로 커밋해야 하므로 테스트 트랜잭션을 걸지 않는다 (커밋된 데이터는 테스트마다 정리)
+@SpringBootTest
+@ActiveProfiles("test")
+@ExtendWith(CommittedDataCleanup.class)
+@RecordApplicationEvents
+public class OrderServiceTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OrderWindowRegistry orderWindowRegistry;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private OrderDataMigration orderDataMigration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private OrderDetailsService orderDetailsService;
+
+    @Autowired
+    private PromotionService promotionService;
+
+    @Autowired
+    private DeliveryZoneService deliveryZoneService;
+
+    @Autowired
+    private DeliveryZoneRegistry deliveryZoneRegistry;
+
+    private void setStock(Long productId, int stock) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                productService.bulkUpdate(List.of(productId), null, null, null, stock, null)
+        );
+    }
+
+    private OrderCreateRequest guestOrder(String email, Long productId, int quantity) {
+        return new OrderCreateRequest(
+                email,
+                "서울시 강남구",
+                "12345",
+                List.of(new OrderCreateRequest.Item(productId, quantity))
+        );
+    }
+
+    @Test
+    @DisplayName("재고 부족 - 여러 상품 중 하나라도 부족하면 전체 취소")
+    void t1() {
+        Long enough = 1L;
+        Long scarce = 2L;
+        setStock(enough, 10);
+        setStock(scarce, 1);
+
+        OrderCreateRequest req = new OrderCreateRequest(
+                "stock-t1@test.com",
+                "서울시 강남구",
+                "12345",
+                List.of(
+                        new OrderCreateRequest.Item(enough, 3),
+                        new OrderCreateRequest.Item(scarce, 2)
+                )
+        );
+
+        assertThatThrownBy(() -> orderService.createOrder(req, null))
+                .isInstanceOf(ServiceException.class)
+                .hasMessageContaining("409-1");
+
+        assertThat(productRepository.findById(enough).get().getProductStock()).isEqualTo(10);
+        assertThat(productRepository.findById(scarce).get().getProductStock()).isEqualTo(1);
+        // 선점했던 빈 주문도 남지 않는다
+        assertThat(orderRepository.findByEmailWithItems("stock-t1@test.com")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("재고 경합 벤치마크 - 인기 상품 하나에 동시 주문")
+    void t2() throws Exception {
+        Long hotProductId = 4L;
+        int stock = 100;
+        int threads = 32;
+        int ordersPerThread = 10;
+        setStock(hotProductId, stock);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ordersPerThread; i++) {
+                    try {
+                        // 주문 병합끼리 경합하지 않도록 주문마다 다른 이메일 사용
+                        orderService.createOrder(guestOrder("hot-%d-%d@test.com".formatted(thread, i), hotProductId, 1), null);
+                        succeeded.incrementAndGet();
+                    } catch (ServiceException e) {
+                        soldOut.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+        executor.shutdown();
+
+        int attempts = threads * ordersPerThread;
+        System.out.printf("hot SKU: %d threads, %d attempts, %d ms, %.1f orders/s%n",
+                threads, attempts, elapsedMs, attempts * 1000.0 / Math.max(elapsedMs, 1));
+
+        Product product = productRepository.findById(hotProductId).get();
+        assertThat(succeeded.get()).isEqualTo(stock);
+        assertThat(soldOut.get()).isEqualTo(attempts - stock);
+        assertThat(product.getProductStock()).isZero();
+    }
+
+    @Test
+    @DisplayName("장바구니 - 담으면 재고 홀드, 주문 전환 시 재고를 다시 차감하지 않음")
+    void t3() {
+        Long productId = 3L;
+        setStock(productId, 5);
+
+        CartDto cart = cartService.create();
+        cartService.setItem(cart.cartId(), productId, 3);
+        assertThat(productRepository.findById(productId).get().getProductStock()).isEqualTo(2);
+
+        // 홀드된 수량을 넘기면 실패
+        assertThatThrownBy(() -> cartService.setItem(cartService.create().cartId(), productId, 3))
+                .isInstanceOf(ServiceException.class)
+                .hasMessageContaining("409-1");
+
+        OrderResponse response = orderService.createOrder(
+                new OrderCreateRequest("cart-t3@test.com", "서울시 강남구", "12345", List.of(), cart.cartId()),
+                null
+        );
+
+        assertThat(response.items()).hasSize(1);
+        assertThat(response.items().get(0).quantity()).isEqualTo(3);
+        assertThat(productRepository.findById(productId).get().getProductStock()).isEqualTo(2);
+
+        // 주문된 장바구니는 닫힌다
+        assertThatThrownBy(() -> cartService.get(cart.cartId()))
+                .isInstanceOf(ServiceException.class)
+                .hasMessageContaining("410-1");
+    }
+
+    @Test
+    @DisplayName("재고 부족 - 주문으로 기준치 이하가 되면 이벤트 발행, 위험 목록에 포함")
+    void t4() {
+        Long productId = 1L;
+        setStock(productId, 6); // 기본 기준치 5
+
+        orderService.createOrder(guestOrder("low-t4@test.com", productId, 2), null);
+
+        assertThat(events.stream(ProductStockEvent.class))
+                .anyMatch(e -> e.type() == ProductStockEvent.Type.LOW_STOCK && e.product().id().equals(productId));
+        assertThat(productService.findLowStock(100))
+                .extracting(ProductStockDto::id)
+                .contains(productId);
+
+        setStock(productId, 20);
+        assertThat(productService.findLowStock(100))
+                .extracting(ProductStockDto::id)
+                .doesNotContain(productId);
+    }
+
+    @Test
+    @DisplayName("같은 상품 여러 줄 - 한 줄로 합쳐서 주문, 상품 수 제한 초과 시 실패")
+    void t5() {
+        Long productId = 2L;
+        setStock(productId, 10);
+
+        OrderResponse response = orderService.createOrder(new OrderCreateRequest(
+                "coalesce-t5@test.com",
+                "서울시 강남구",
+                "12345",
+                List.of(
+                        new OrderCreateRequest.Item(productId, 1),
+                        new OrderCreateRequest.Item(productId, 2),
+                        new OrderCreateRequest.Item(productId, 3)
+                )
+        ), null);
+
+        assertThat(response.items()).hasSize(1);
+        assertThat(response.items().get(0).quantity()).isEqualTo(6);
+        assertThat(productRepository.findById(productId).get().getProductStock()).isEqualTo(4);
+
+        List<OrderCreateRequest.Item> tooMany = Collections.nCopies(
+                OrderCreateRequest.MAX_ITEMS + 1,
+                new OrderCreateRequest.Item(productId, 1)
+        );
+        assertThatThrownBy(() -> orderService.createOrder(
+                new OrderCreateRequest("coalesce-t5@test.com", "서울시 강남구", "12345", tooMany), null))
+                .isInstanceOf(ServiceException.class)
+                .hasMessageContaining("400-2");
+    }
+
+    @Test
+    @DisplayName("열린 주문 창 - 첫 주문이 등록되고, 같은 창의 재주문은 그 주문에 병합")
+    void t6() {
+        String email = "window-t6@test.com";
+        setStock(1L, 10);
+        setStock(2L, 10);
+        LocalDateTime now = LocalDateTime.now();
+
+        OrderResponse first = orderService.createOrder(guestOrder(email, 1L, 1), null, now);
+        assertThat(orderWindowRegistry.findOrder(email, OrderWindowRegistry.windowId(now)))
+                .contains(first.id());
+
+        OrderResponse second = orderService.createOrder(guestOrder(email, 2L, 1), null, now);
+        assertThat(second.id()).isEqualTo(first.id());
+        assertThat(second.items()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("같은 창 동시 주문 - 몇 개가 동시에 와도 주문은 하나로 병합")
+    void t7() throws Exception {
+        String email = "race-t7@test.com";
+        Long productId = 3L;
+        int threads = 16;
+        setStock(productId, 100);
+        LocalDateTime now = LocalDateTime.of(2030, 1, 1, 15, 0); // 아무도 주문하지 않은 창
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<OrderResponse>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return orderService.createOrder(guestOrder(email, productId, 1), null, now);
+            }));
+        }
+
+        start.countDown();
+        for (Future<OrderResponse> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        List<Order> orders = orderRepository.findByEmailWithItems(email);
+        assertThat(orders).hasSize(1);
+
+        List<OrderItem> items = new TransactionTemplate(transactionManager).execute(status ->
+                orderRepository.findById(orders.get(0).getId()).get().getOrderItems().stream().toList()
+        );
+        assertThat(items).hasSize(1);
+        assertThat(items.get(0).getQuantity()).isEqualTo(threads);
+        assertThat(productRepository.findById(productId).get().getProductStock()).isEqualTo(100 - threads);
+    }
+
+    @Test
+    @DisplayName("주문 상품 - 주문 당시 상품명/단가를 기록, 이후 가격이 바뀌어도 주문 내역은 그대로")
+    void t8() {
+        Long productId = 1L;
+        setStock(productId, 10);
+        int price = productRepository.findById(productId).get().getProductPrice();
+
+        OrderResponse response = orderService.createOrder(guestOrder("snapshot-t8@test.com", productId, 1), null);
+        assertThat(response.items().get(0).price()).isEqualTo(price);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                productService.bulkUpdate(List.of(productId), null, price + 1000, null, null, null)
+        );
+
+        OrderItem item = new TransactionTemplate(transactionManager).execute(status ->
+                orderRepository.findById(response.id()).get().getOrderItems().get(0)
+        );
+        assertThat(item.getUnitPrice()).isEqualTo(price);
+        assertThat(item.getProductName()).isEqualTo(response.items().get(0).productName());
+    }
+
+    @Test
+    @DisplayName("주문 합계/수량 - 새 주문과 같은 창 병합 모두 합계와 수량이 주문 상품과 일치")
+    void t9() {
+        setStock(1L, 10);
+        setStock(2L, 10);
+        int price1 = productRepository.findById(1L).get().getProductPrice();
+        int price2 = productRepository.findById(2L).get().getProductPrice();
+        LocalDateTime now = LocalDateTime.of(2031, 1, 1, 15, 0);
+
+        OrderResponse first = orderService.createOrder(guestOrder("total-t9@test.com", 1L, 2), null, now);
+        assertThat(first.totalAmount()).isEqualTo(2L * price1);
+        assertThat(first.itemCount()).isEqualTo(2);
+
+        // 같은 창 - 있는 상품은 수량 증가, 없는 상품은 추가
+        OrderResponse merged = orderService.createOrder(new OrderCreateRequest(
+                "total-t9@test.com",
+                "서울시 강남구",
+                "12345",
+                List.of(new OrderCreateRequest.Item(1L, 1), new OrderCreateRequest.Item(2L, 3))
+        ), null, now.plusHours(1));
+        assertThat(merged.id()).isEqualTo(first.id());
+        assertThat(merged.totalAmount()).isEqualTo(3L * price1 + 3L * price2);
+        assertThat(merged.itemCount()).isEqualTo(6);
+
+        Order saved = orderRepository.findById(first.id()).get();
+        assertThat(saved.getTotalAmount()).isEqualTo(merged.totalAmount());
+        assertThat(saved.getItemCount()).isEqualTo(merged.itemCount());
+    }
+
+    @Test
+    @DisplayName("주문 수정/취소 - 바뀐 수량만큼 재고 증감, 취소하면 재고를 모두 돌려주고 마감 후에는 변경 불가")
+    void t10() {
+        String email = "modify-t10@test.com";
+        setStock(1L, 10);
+        setStock(2L, 10);
+        LocalDateTime now = LocalDateTime.of(2033, 1, 1, 15, 0);
+
+        OrderResponse order = orderService.createOrder(new OrderCreateRequest(
+                email,
+                "서울시 강남구",
+                "12345",
+                List.of(new OrderCreateRequest.Item(1L, 3), new OrderCreateRequest.Item(2L, 2))
+        ), null, now);
+
+        OrderResponse modified = orderService.modifyOrder(order.id(), new OrderModifyRequest(email, List.of(
+                new OrderModifyRequest.Item(1L, 1),
+                new OrderModifyRequest.Item(2L, 4)
+        )), null, now.plusHours(1));
+        assertThat(modified.itemCount()).isEqualTo(5);
+        assertThat(productRepository.findById(1L).get().getProductStock()).isEqualTo(9);
+        assertThat(productRepository.findById(2L).get().getProductStock()).isEqualTo(6);
+
+        // 주문에 없는 상품
+        assertThatThrownBy(() -> orderService.modifyOrder(order.id(), new OrderModifyRequest(email, List.of(
+                new OrderModifyRequest.Item(3L, 1)
+        )), null, now.plusHours(1)))
+                .isInstanceOf(ServiceException.class)
+                .extracting("resultCode").isEqualTo("400-3");
+
+        // 마감 후
+        assertThatThrownBy(() -> orderService.cancelOrder(order.id(), email, null, now.plusDays(1)))
+                .isInstanceOf(ServiceException.class)
+                .extracting("resultCode").isEqualTo("409-3");
+
+        OrderResponse canceled = orderService.cancelOrder(order.id(), email, null, now.plusHours(2));
+        assertThat(canceled.status()).isEqualTo(Order.STATUS_CANCELED);
+        assertThat(productRepository.findById(1L).get().getProductStock()).isEqualTo(10);
+        assertThat(productRepository.findById(2L).get().getProductStock()).isEqualTo(10);
+
+        assertThatThrownBy(() -> orderService.cancelOrder(order.id(), email, null, now.plusHours(2)))
+                .isInstanceOf(ServiceException.class)
+                .extracting("resultCode").isEqualTo("409-4");
+
+        // 취소하면 같은 창에 다시 주문할 수 있다
+        OrderResponse reordered = orderService.createOrder(guestOrder(email, 1L, 1), null, now.plusHours(3));
+        assertThat(reordered.id()).isNotEqualTo(order.id());
+    }
+
+    @Test
+    @DisplayName("병합과 취소 경합 - 성공한 병합은 모두 주문에 남고, 재고는 취소되지 않은 주문 수량만큼만 빠진다")
+    void t11() throws Exception {
+        String email = "race-t11@test.com";
+        Long productId = 3L;
+        int threads = 16;
+        setStock(productId, 100);
+        LocalDateTime now = LocalDateTime.of(2034, 1, 1, 15, 0);
+
+        OrderResponse first = orderService.createOrder(guestOrder(email, productId, 1), null, now);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<OrderResponse>> merges = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            merges.add(executor.submit(() -> {
+                start.await();
+                return orderService.createOrder(guestOrder(email, productId, 1), null, now);
+            }));
+        }
+        Future<OrderResponse> cancel = executor.submit(() -> {
+            start.await();
+            return orderService.cancelOrder(first.id(), email, null, now);
+        });
+
+        start.countDown();
+        int merged = 0;
+        for (Future<OrderResponse> future : merges) {
+            try {
+                future.get(60, TimeUnit.SECONDS);
+                merged++;
+            } catch (ExecutionException e) {
+                // 취소된 주문에 병합하려던 요청
+                assertThat(e.getCause()).isInstanceOf(ServiceException.class);
+            }
+        }
+        boolean canceled;
+        try {
+            cancel.get(60, TimeUnit.SECONDS);
+            canceled = true;
+        } catch (ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(ServiceException.class);
+            canceled = false;
+        }
+        executor.shutdown();
+
+        List<Order> orders = orderRepository.findByEmailWithItems(email);
+
+        int ordered = orders.stream()
+                .flatMap(order -> order.getOrderItems().stream())
+                .mapToInt(OrderItem::getQuantity)
+                .sum();
+        int active = orders.stream()
+                .filter(order -> !order.isCanceled())
+                .flatMap(order -> order.getOrderItems().stream())
+                .mapToInt(OrderItem::getQuantity)
+                .sum();
+
+        assertThat(ordered).isEqualTo(1 + merged);
+        assertThat(orders.stream().filter(order -> !order.isCanceled())).hasSizeLessThanOrEqualTo(1);
+        assertThat(orders.stream().anyMatch(order -> order.getId().equals(first.id()) && order.isCanceled())).isEqualTo(canceled);
+        assertThat(productRepository.findById(productId).get().getProductStock()).isEqualTo(100 - active);
+    }
+
+    @Test
+    @DisplayName("비회원 주문 테이블 이전 - 예전 guest_order 행이 회원 없는 주문으로 옮겨지고 테이블은 지워진다")
+    void t12() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.execute("create table guest_order (id bigint primary key, email varchar(255), address varchar(255), postal_code varchar(5), status varchar(255), window_id int, created_at timestamp)");
+            jdbcTemplate.execute("create table guest_order_item (id bigint primary key, guest_order_id bigint, product_id bigint, quantity int, product_name varchar(255), unit_price int)");
+            jdbcTemplate.update("insert into guest_order values (1, 'migrate-t12@test.com', '서울시 강남구', '12345', '배송준비중', null, timestamp '2020-01-01 15:00:00')");
+            jdbcTemplate.update("insert into guest_order_item values (1, 1, 1, 2, '예전 상품명', 1234)");
+        });
+
+        orderDataMigration.migrate();
+
+        List<Order> orders = orderRepository.findByEmailWithItems("migrate-t12@test.com");
+        assertThat(orders).hasSize(1);
+        Order order = orders.get(0);
+        assertThat(order.getMember()).isNull();
+        assertThat(order.getPostalCode()).isEqualTo("12345");
+        assertThat(order.getOrderItems().get(0).getProductName()).isEqualTo("예전 상품명");
+        assertThat(order.getTotalAmount()).isEqualTo(2468L);
+        assertThat(order.getItemCount()).isEqualTo(2);
+
+        Integer tables = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.tables where upper(table_name) in ('GUEST_ORDER', 'GUEST_ORDER_ITEM')",
+                Integer.class
+        );
+        assertThat(tables).isZero();
+    }
+
+    @Test
+    @DisplayName("비회원 주문 후 회원 가입 - 가입 후 백그라운드에서 비회원 주문이 회원에 연결")
+    void t13() throws Exception {
+        String email = "join-t13@test.com";
+        setStock(1L, 10);
+        OrderResponse guest = orderService.createOrder(guestOrder(email, 1L, 1), null);
+
+        Member member = memberService.join(email, "1234", "가입자", "서울시 강남구", "12345");
+
+        Long memberId = null;
+        for (int i = 0; i < 100 && memberId == null; i++) {
+            memberId = new TransactionTemplate(transactionManager).execute(status -> {
+                Member attached = orderRepository.findById(guest.id()).get().getMember();
+                return attached != null ? attached.getId() : null;
+            });
+            if (memberId == null) Thread.sleep(100);
+        }
+        assertThat(memberId).isEqualTo(member.getId());
+
+        assertThat(orderDetailsService.getOrdersByApiKey(member.getApiKey()))
+                .extracting("orderId")
+                .contains(guest.id());
+    }
+
+    @Test
+    @DisplayName("할인 - 2+1, 원산지 할인, 주문 합계 할인이 병합/수정된 주문 전체 수량으로 다시 계산")
+    void t14() {
+        String email = "promotion-t14@test.com";
+        setStock(1L, 20);
+        setStock(4L, 20);
+        Product colombia = productRepository.findById(1L).get();
+        long ethiopiaPrice = productRepository.findById(4L).get().getProductPrice();
+        long colombiaOff = colombia.getProductPrice() / 10;
+        LocalDateTime now = LocalDateTime.of(2032, 1, 1, 15, 0);
+
+        // 다른 테스트 주문에는 걸리지 않도록 이 테스트 시각에만 적용
+        LocalDateTime from = now.minusHours(1);
+        LocalDateTime to = now.plusHours(6);
+        List<PromotionDto> promotions = List.of(
+                promotionService.create(new PromotionReqBody("2+1", Promotion.Type.BUY_X_GET_Y,
+                        4L, null, 2, 1, null, null, null, from, to, null)),
+                promotionService.create(new PromotionReqBody("원산지 10%", Promotion.Type.PERCENT_OFF,
+                        null, colombia.getProductOrigin(), null, null, 10, null, null, from, to, null)),
+                promotionService.create(new PromotionReqBody("합계 할인", Promotion.Type.BASKET_THRESHOLD,
+                        null, null, null, null, null, 4 * ethiopiaPrice + colombia.getProductPrice() - colombiaOff, 1000L, from, to, null))
+        );
+
+        try {
+            // 2개 - 2+1 미적용
+            OrderResponse first = orderService.createOrder(new OrderCreateRequest(
+                    email,
+                    "서울시 강남구",
+                    "12345",
+                    List.of(new OrderCreateRequest.Item(4L, 2), new OrderCreateRequest.Item(1L, 1))
+            ), null, now);
+            assertThat(first.discountAmount()).isEqualTo(colombiaOff);
+
+            // 같은 창 병합으로 3개 - 1개 무료
+            OrderResponse merged = orderService.createOrder(guestOrder(email, 4L, 1), null, now.plusHours(1));
+            assertThat(merged.id()).isEqualTo(first.id());
+            assertThat(merged.discountAmount()).isEqualTo(ethiopiaPrice + colombiaOff);
+
+            // 6개로 수정 - 2개 무료, 할인 후 금액이 합계 할인 기준을 넘는다
+            OrderResponse modified = orderService.modifyOrder(first.id(), new OrderModifyRequest(
+                    email,
+                    List.of(new OrderModifyRequest.Item(4L, 6))
+            ), null, now.plusHours(2));
+            assertThat(modified.discountAmount()).isEqualTo(2 * ethiopiaPrice + colombiaOff + 1000);
+
+            // 적용 기간이 지나면 할인 없음
+            OrderResponse later = orderService.createOrder(guestOrder(email, 4L, 3), null, to.plusHours(1));
+            assertThat(later.discountAmount()).isZero();
+        } finally {
+            promotions.forEach(promotion -> promotionService.deactivate(promotion.id()));
+        }
+    }
+
+    @Test
+    @DisplayName("배송비 - 우편번호 구간으로 배송비를 정하고, 구간이 겹치는 구역은 등록 불가")
+    void t15() {
+        String email = "delivery-t15@test.com";
+        setStock(1L, 10);
+        DeliveryZoneDto jeju = deliveryZoneService.create(new DeliveryZoneReqBody("제주", "63000", "63644", 5000));
+
+        try {
+            assertThat(deliveryZoneRegistry.quote("63000").fee()).isEqualTo(5000);
+            assertThat(deliveryZoneRegistry.quote("63644").zoneId()).isEqualTo(jeju.id());
+            assertThat(deliveryZoneRegistry.quote("63645").zoneId()).isNull();
+            assertThat(deliveryZoneRegistry.quote("12345").zoneId()).isNull();
+
+            assertThatThrownBy(() -> deliveryZoneService.create(new DeliveryZoneReqBody("겹침", "62000", "63000", 3000)))
+                    .isInstanceOf(ServiceException.class)
+                    .extracting("resultCode")
+                    .isEqualTo("409-1");
+
+            LocalDateTime now = LocalDateTime.of(2033, 1, 1, 15, 0);
+            OrderResponse first = orderService.createOrder(new OrderCreateRequest(
+                    email,
+                    "제주특별자치도 제주시",
+                    "63100",
+                    List.of(new OrderCreateRequest.Item(1L, 1))
+            ), null, now);
+            assertThat(first.deliveryFee()).isEqualTo(5000);
+
+            // 같은 창에 병합되는 주문은 처음 주문의 배송비 그대로
+            OrderResponse merged = orderService.createOrder(guestOrder(email, 1L, 1), null, now.plusHours(1));
+            assertThat(merged.id()).isEqualTo(first.id());
+            assertThat(merged.deliveryFee()).isEqualTo(5000);
+        } finally {
+            deliveryZoneService.delete(jeju.id());
+        }
+        assertThat(deliveryZoneRegistry.quote("63100").zoneId()).isNull();
+    }
+
+    @Test
+    @DisplayName("장바구니 홀드 - 장바구니 없이 남은 만료 홀드는 sweep 이 재고를 한 번만 되돌린다")
+    void t16() {
+        Long productId = 3L;
+        setStock(productId, 5);
+
+        CartDto cart = cartService.create();
+        cartService.setItem(cart.cartId(), productId, 2);
+        assertThat(productRepository.findById(productId).get().getProductStock()).isEqualTo(3);
+
+        // 재시작으로 메모리 장바구니를 잃고 만료 시각이 지난 상황
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.update("update cart_hold set expires_at = ? where cart_id = ?", LocalDateTime.now().minusHours(1), cart.cartId())
+        );
+
+        cartService.sweepExpiredHolds();
+        cartService.sweepExpiredHolds();
+        assertThat(productRepository.findById(productId).get().getProductStock()).isEqualTo(5);
+
+        // 장바구니를 지워도 이미 되돌린 홀드는 다시 되돌리지 않는다
+        cartService.delete(cart.cartId());
+        assertThat(productRepository.findById(productId).get().getProductStock()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("비회원 주문 테이블 이전 - 같은 창에 회원 주문이 있으면 창 번호를 비우고, 삭제된 상품은 기록된 상품명/단가로 남긴다")
+    void t17() {
+        String email = "migrate-t17@test.com";
+        LocalDateTime now = LocalDateTime.of(2034, 1, 1, 15, 0);
+        int windowId = OrderWindowRegistry.windowId(now);
+        setStock(1L, 10);
+
+        // 연락처를 기록하기 전에 만들어진 회원 주문
+        memberService.join(email, "1234", "가입자", "서울시 강남구", "12345");
+        OrderResponse memberOrder = orderService.createOrder(guestOrder(email, 1L, 1), null, now);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("update orders set email = null, address = null, postal_code = null where id = ?", memberOrder.id());
+            jdbcTemplate.execute("create table guest_order (id bigint primary key, email varchar(255), address varchar(255), postal_code varchar(5), status varchar(255), window_id int, created_at timestamp)");
+            jdbcTemplate.execute("create table guest_order_item (id bigint primary key, guest_order_id bigint, product_id bigint, quantity int, product_name varchar(255), unit_price int)");
+            jdbcTemplate.update("insert into guest_order values (1, ?, '서울시 강남구', '12345', '배송준비중', ?, timestamp '2034-01-01 14:30:00')", email, windowId);
+            jdbcTemplate.update("insert into guest_order_item values (1, 1, 999999, 2, '단종 상품', 3000)");
+        });
+
+        orderDataMigration.migrate();
+
+        List<Order> orders = orderRepository.findByEmailWithItems(email);
+        assertThat(orders).hasSize(2);
+        Order member = orders.stream().filter(o -> o.getId().equals(memberOrder.id())).findFirst().get();
+        Order guest = orders.stream().filter(o -> !o.getId().equals(memberOrder.id())).findFirst().get();
+
+        assertThat(member.getWindowId()).isEqualTo(windowId);
+        assertThat(guest.getWindowId()).isNull();
+        assertThat(orderRepository.findByEmailAndWindowId(email, windowId)).map(Order::getId).contains(memberOrder.id());
+
+        assertThat(guest.getOrderItems()).hasSize(1);
+        assertThat(guest.getOrderItems().get(0).getProduct()).isNull();
+        assertThat(guest.getOrderItems().get(0).getProductName()).isEqualTo("단종 상품");
+        assertThat(guest.getTotalAmount()).isEqualTo(6000L);
+        assertThat(guest.getItemCount()).isEqualTo(2);
+    }
+}
@@ -1,5 +1,6 @@
 package com.cafe.domain.product.product.controller;
 
+import com.cafe.domain.product.product.entity.Product;
 import com.cafe.domain.product.product.repository.ProductRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,6 +14,7 @@ import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -195,4 +197,163 @@ public class ApiV1ProductControllerTest {
     }
 
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("상품목록 ETag - 변경 없으면 304, 수정 후에는 새 목록")
+    void t5() throws Exception {
+        String etag = mvc
+                .perform(
+                        get("/api/v1/product/list")
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mvc
+                .perform(
+                        get("/api/v1/product/list")
+                                .header("If-None-Match", etag)
+                )
+                .andDo(print())
+                .andExpect(status().isNotModified());
+
+        mvc
+                .perform(
+                        delete("/api/v1/admin/product/%d".formatted(1L))
+                )
+                .andExpect(status().isOk());
+
+        mvc
+                .perform(
+                        get("/api/v1/product/list")
+                                .header("If-None-Match", etag)
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+
+    @Test
+    @DisplayName("상품 대량 등록 - CSV")
+    void t6() throws Exception {
+        long before = productRepository.count();
+
+        ResultActions resultActions = mvc
+                .perform(
+                        post("/api/v1/admin/product/import")
+                                .contentType("text/csv")
+                                .content("""
+                                        name,price,origin,stock,imageUrl
+                                        Kenya AA,7200,케냐,30,
+                                        "Guatemala, Antigua",6900,과테말라,10,
+                                        Ethiopia Yirgacheffe,6800,에티오피아,40,
+                                        Broken,abc,없음,1,
+                                        """)
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1ProductController.class))
+                .andExpect(handler().methodName("importItems"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.created").value(2))
+                .andExpect(jsonPath("$.data.skipped").value(1))
+                .andExpect(jsonPath("$.data.failed").value(1))
+                .andExpect(jsonPath("$.data.total").value(4))
+                .andExpect(jsonPath("$.data.rows.length()").value(2))
+                .andExpect(jsonPath("$.data.rows[0].status").value("SKIPPED"))
+                .andExpect(jsonPath("$.data.rows[1].line").value(5));
+
+        assertThat(productRepository.findByProductName("Guatemala, Antigua")).isPresent();
+
+        assertThat(productRepository.count()).isEqualTo(before + 2);
+    }
+
+
+    @Test
+    @DisplayName("상품 일괄 수정 - 원산지 전체 가격 10% 인상")
+    void t7() throws Exception {
+        ResultActions resultActions = mvc
+                .perform(
+                        patch("/api/v1/admin/product")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                          "origin": "콜롬비아",
+                                          "pricePercent": 10
+                                        }""")
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1ProductController.class))
+                .andExpect(handler().methodName("bulkModifyItems"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.updated").value(2));
+
+        assertThat(productRepository.findByProductName("Colombia Nariño").get().getProductPrice()).isEqualTo(5610);
+        assertThat(productRepository.findByProductName("Brazil Serra Do Caparaó").get().getProductPrice()).isEqualTo(6300);
+    }
+
+    @Test
+    @DisplayName("상품목록 페이지 - 원산지 필터, 커서로 다음 페이지")
+    void t8() throws Exception {
+        ResultActions first = mvc
+                .perform(
+                        get("/api/v1/product/page")
+                                .param("origin", "콜롬비아")
+                                .param("size", "1")
+                )
+                .andDo(print());
+
+        first
+                .andExpect(handler().handlerType(ApiV1ProductController.class))
+                .andExpect(handler().methodName("getItemPage"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products.length()").value(1))
+                .andExpect(jsonPath("$.products[0].name").value("Colombia Nariño"))
+                .andExpect(jsonPath("$.nextCursor").value(1));
+
+        mvc
+                .perform(
+                        get("/api/v1/product/page")
+                                .param("origin", "콜롬비아")
+                                .param("size", "1")
+                                .param("cursor", "1")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products.length()").value(1))
+                .andExpect(jsonPath("$.products[0].name").value("Colombia Quindío"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("상품 일괄 수정 - 인상된 가격이 int 범위를 넘으면 400")
+    void t9() throws Exception {
+        Product product = productRepository.findByProductName("Colombia Nariño").get();
+        product.update(product.getProductName(), 200_000_000, product.getProductOrigin(), product.getProductStock(), product.getImageUrl());
+        productRepository.flush();
+
+        ResultActions resultActions = mvc
+                .perform(
+                        patch("/api/v1/admin/product")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                          "ids": [%d],
+                                          "pricePercent": 1000
+                                        }""".formatted(product.getId()))
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().methodName("bulkModifyItems"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.resultCode").value("400-3"));
+
+        assertThat(productRepository.findById(product.getId()).get().getProductPrice()).isEqualTo(200_000_000);
+    }
+}
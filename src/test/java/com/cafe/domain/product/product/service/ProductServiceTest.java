@@ -7,13 +7,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@SpringBootTest
+// 재고 변경 후 캐시를 다시 만드는 간격을 길게 잡아서 t6 이 실행 속도에 따라 달라지지 않도록 한다
+@SpringBootTest(properties = "app.product.catalog-stock-staleness=1h")
 @ActiveProfiles("test")
 @Transactional
 public class ProductServiceTest {
@@ -24,6 +28,12 @@ public class ProductServiceTest {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private ProductCatalogCache productCatalogCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
 
     @Test
     @DisplayName("상품수량확인")
@@ -58,4 +68,48 @@ public class ProductServiceTest {
         assertThat(deletedProduct.isUseYn()).isFalse();
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("카탈로그 버전 이후 변경된 상품만 가져오기")
+    void t4() {
+        long since = productService.currentCatalogVersion();
+
+        Product product = productService.findById(2L).get();
+        productService.moidfy(product, product.getProductName(), 9900, product.getProductOrigin(), product.getProductStock(), product.getImageUrl());
+        productRepository.flush();
+
+        List<Product> changed = productService.findChangedSince(since);
+        assertThat(changed).extracting(Product::getId).containsExactly(2L);
+        assertThat(changed.get(0).getCatalogVersion()).isGreaterThan(since);
+    }
+
+    @Test
+    @DisplayName("상품 검색 - 상품명 시작 일치가 먼저, 원산지로도 검색")
+    void t5() {
+        ProductSearchIndex.Result byName = productService.search("colombia", true, 0, 10);
+        assertThat(byName.total()).isEqualTo(2);
+
+        ProductSearchIndex.Result byOrigin = productService.search("콜롬", true, 0, 10);
+        assertThat(byOrigin.total()).isEqualTo(2);
+
+        ProductSearchIndex.Result paged = productService.search("colombia", true, 1, 1);
+        assertThat(paged.hits()).hasSize(1);
+
+        assertThat(productService.search("없는상품", true, 0, 10).total()).isZero();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 커밋 후 반영을 확인
+    @DisplayName("상품 목록 캐시 - 재고 변경으로는 바로 다시 만들지 않고, 상품 변경은 바로 무효화")
+    void t6() {
+        productCatalogCache.invalidate();
+        ProductCatalogCache.Snapshot before = productCatalogCache.active();
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> productService.increaseStock(1L, 1));
+        tx.executeWithoutResult(status -> productService.decreaseStock(1L, 1));
+        assertThat(productCatalogCache.active()).isSameAs(before);
+
+        productCatalogCache.invalidate();
+        assertThat(productCatalogCache.active()).isNotSameAs(before);
+    }
+}
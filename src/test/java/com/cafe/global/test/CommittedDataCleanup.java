@@ -0,0 +1,114 @@
+package com.cafe.global.test;
+
+import com.cafe.domain.product.product.service.ProductService;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 테스트 트랜잭션 없이 커밋하는 테스트의 뒷정리
+ * 테스트 전에 테이블마다 마지막 id 와 상품 재고/가격/노출 여부를 기억해 두고,
+ * 테스트가 끝나면 그 뒤에 커밋된 행을 지우고 (테스트 중 만든 테이블은 drop) 상품을 되돌린다.
+ * 같은 in-memory DB 를 쓰는 다른 테스트 클래스가 실행 순서에 따라 결과가 달라지지 않도록 한다.
+ *
+ * <pre>
+ * &#64;SpringBootTest
+ * &#64;ExtendWith(CommittedDataCleanup.class)
+ * </pre>
+ */
+public class CommittedDataCleanup implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(CommittedDataCleanup.class);
+
+    private record ProductState(int price, int stock, boolean useYn) {
+    }
+
+    /**
+     * @param lastIds  테이블 → 테스트 전 마지막 id (id 컬럼이 없으면 null)
+     * @param products 상품 id → 테스트 전 상태
+     */
+    private record Snapshot(Map<String, Long> lastIds, Map<Long, ProductState> products) {
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        JdbcTemplate jdbc = bean(context, JdbcTemplate.class);
+
+        Map<String, Long> lastIds = new HashMap<>();
+        tables(jdbc).forEach((table, hasId) -> lastIds.put(table, hasId
+                ? jdbc.queryForObject("select coalesce(max(id), 0) from " + table, Long.class)
+                : null));
+
+        context.getStore(NAMESPACE).put(Snapshot.class, new Snapshot(lastIds, products(jdbc)));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Snapshot snapshot = context.getStore(NAMESPACE).remove(Snapshot.class, Snapshot.class);
+        if (snapshot == null) return;
+
+        JdbcTemplate jdbc = bean(context, JdbcTemplate.class);
+        ProductService productService = bean(context, ProductService.class);
+
+        new TransactionTemplate(bean(context, PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            // 주문 → 회원/상품 처럼 서로 참조하는 행을 순서 없이 지운다 (H2)
+            jdbc.execute("set referential_integrity false");
+            try {
+                tables(jdbc).keySet().forEach(table -> {
+                    if (!snapshot.lastIds().containsKey(table)) {
+                        jdbc.execute("drop table " + table);
+                    } else if (snapshot.lastIds().get(table) != null) {
+                        jdbc.update("delete from " + table + " where id > ?", snapshot.lastIds().get(table));
+                    }
+                });
+            } finally {
+                jdbc.execute("set referential_integrity true");
+            }
+
+            // 재고/가격은 인덱스와 캐시도 같이 바뀌도록 서비스로 되돌린다
+            Map<Long, ProductState> current = products(jdbc);
+            snapshot.products().forEach((id, before) -> {
+                if (Objects.equals(current.get(id), before)) return;
+                productService.bulkUpdate(List.of(id), null, before.price(), null, before.stock(), before.useYn());
+            });
+        });
+    }
+
+    // 테이블 → id 컬럼이 있는지
+    private static Map<String, Boolean> tables(JdbcTemplate jdbc) {
+        Map<String, Boolean> tables = new HashMap<>();
+        jdbc.query("""
+                        select t.table_name,
+                               exists (select 1 from information_schema.columns c
+                                       where c.table_schema = t.table_schema and c.table_name = t.table_name and c.column_name = 'ID')
+                        from information_schema.tables t
+                        where t.table_schema = 'PUBLIC' and t.table_type = 'BASE TABLE'""",
+                rs -> {
+                    tables.put(rs.getString(1), rs.getBoolean(2));
+                });
+        return tables;
+    }
+
+    private static Map<Long, ProductState> products(JdbcTemplate jdbc) {
+        Map<Long, ProductState> products = new HashMap<>();
+        jdbc.query("select id, product_price, product_stock, use_yn from product", rs -> {
+            products.put(rs.getLong(1), new ProductState(rs.getInt(2), rs.getInt(3), rs.getBoolean(4)));
+        });
+        return products;
+    }
+
+    private static <T> T bean(ExtensionContext context, Class<T> type) {
+        ApplicationContext applicationContext = SpringExtension.getApplicationContext(context);
+        return applicationContext.getBean(type);
+    }
+}